@@ -19,6 +19,8 @@ javac -d ${COMPONENT}/classes ${COMPONENT}/src/qp/optimizer/*.java
 javac -d ${COMPONENT}/classes ${COMPONENT}/src/QueryMain.java
 javac -d ${COMPONENT}/classes ${COMPONENT}/src/ConvertTxtToTbl.java
 javac -d ${COMPONENT}/classes ${COMPONENT}/src/RandomDB.java
+javac -d ${COMPONENT}/classes ${COMPONENT}/src/MigrateTbl.java
+javac -d ${COMPONENT}/classes ${COMPONENT}/src/MergeBench.java
 
 echo "Compiled Successfully"
 
@@ -0,0 +1,176 @@
+package qp.operators;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+import qp.utils.Attribute;
+import qp.utils.Batch;
+import qp.utils.Condition;
+import qp.utils.MemoryBroker;
+import qp.utils.Schema;
+import qp.utils.Tuple;
+
+class HashJoinTest {
+    @Test
+    public void inMemoryJoin() {
+        Batch.setPageSize(100);
+        MemoryBroker.setNumBuffer(100);
+        Rows left = new Rows("L", keys(0, 20, 1));
+        Rows right = new Rows("R", keys(10, 30, 1));
+        HashJoin join = join(left, right, 50);
+        assertEquals(expected(left, right), run(join));
+        assertEquals(1, left.closed);
+        assertEquals(1, right.closed);
+    }
+
+    @Test
+    public void partitionedJoin() {
+        Batch.setPageSize(100);
+        MemoryBroker.setNumBuffer(4);
+        Rows left = new Rows("L", keys(0, 500, 3));
+        Rows right = new Rows("R", keys(0, 400, 2));
+        HashJoin join = join(left, right, 4);
+        assertEquals(expected(left, right), run(join));
+        assertEquals(1, left.closed);
+        assertEquals(1, right.closed);
+        assertEquals(0, tempFiles());
+    }
+
+    @Test
+    public void skewedPartitionIsJoinedInChunks() {
+        Batch.setPageSize(100);
+        MemoryBroker.setNumBuffer(4);
+        ArrayList<Integer> leftkeys = keys(0, 50, 1);
+        leftkeys.addAll(Collections.nCopies(300, 7));
+        Rows left = new Rows("L", leftkeys);
+        Rows right = new Rows("R", keys(0, 100, 2));
+        HashJoin join = join(left, right, 4);
+        assertEquals(expected(left, right), run(join));
+        assertEquals(0, tempFiles());
+    }
+
+    @Test
+    public void noMatch() {
+        Batch.setPageSize(100);
+        MemoryBroker.setNumBuffer(100);
+        Rows left = new Rows("L", keys(0, 10, 1));
+        Rows right = new Rows("R", keys(100, 110, 1));
+        assertEquals(0, run(join(left, right, 50)).size());
+    }
+
+    @Test
+    public void limitStopsEarly() {
+        Batch.setPageSize(100);
+        MemoryBroker.setNumBuffer(100);
+        Rows left = new Rows("L", keys(0, 100, 1));
+        Rows right = new Rows("R", keys(0, 100, 1));
+        HashJoin join = join(left, right, 50);
+        join.setLimit(5);
+        assertEquals(5, run(join).size());
+        assertEquals(1, right.closed);
+    }
+
+    /** Joins the tuples of left and right on their key, both with the schema {key, value} **/
+    private static HashJoin join(Rows left, Rows right, int numBuff) {
+        Condition condition = new Condition(left.schema.getAttribute(0), Condition.EQUAL, right.schema.getAttribute(0));
+        condition.setOpType(Condition.JOIN);
+        Join join = new Join(left, right, condition, OpType.JOIN);
+        join.setSchema(left.schema.joinWith(right.schema));
+        join.setJoinType(JoinType.HASHJOIN);
+        join.setNumBuff(numBuff);
+        return new HashJoin(join);
+    }
+
+    /** Opens the join, reads all of its output and closes it as the parent does **/
+    private static ArrayList<String> run(HashJoin join) {
+        ArrayList<String> rows = new ArrayList<>();
+        join.open();
+        Batch page;
+        while ((page = join.next()) != null) {
+            for (int i = 0; i < page.size(); i++) {
+                rows.add(page.get(i).data().toString());
+            }
+        }
+        join.close();
+        Collections.sort(rows);
+        return rows;
+    }
+
+    private static ArrayList<String> expected(Rows left, Rows right) {
+        ArrayList<String> rows = new ArrayList<>();
+        for (Tuple l : left.tuples) {
+            for (Tuple r : right.tuples) {
+                if (l.dataAt(0).equals(r.dataAt(0))) {
+                    rows.add(l.joinWith(r).data().toString());
+                }
+            }
+        }
+        Collections.sort(rows);
+        return rows;
+    }
+
+    private static ArrayList<Integer> keys(int from, int to, int repeat) {
+        ArrayList<Integer> keys = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            for (int j = 0; j < repeat; j++) {
+                keys.add(i);
+            }
+        }
+        return keys;
+    }
+
+    private static int tempFiles() {
+        String[] files = new File(".").list((dir, name) -> name.startsWith("HJtemp"));
+        return files == null ? 0 : files.length;
+    }
+
+    /**
+     * Returns the given tuples {key, value}, counting how often it is closed
+     */
+    private static class Rows extends Operator {
+        final ArrayList<Tuple> tuples = new ArrayList<>();
+        int cursor;
+        int closed = 0;
+
+        Rows(String tabname, ArrayList<Integer> keys) {
+            super(OpType.SCAN);
+            ArrayList<Attribute> attrs = new ArrayList<>();
+            attrs.add(new Attribute(tabname, "key", Attribute.INT, -1, 4));
+            attrs.add(new Attribute(tabname, "value", Attribute.INT, -1, 4));
+            schema = new Schema(attrs);
+            schema.setTupleSize(8);
+            for (int i = 0; i < keys.size(); i++) {
+                tuples.add(new Tuple(new ArrayList<>(Arrays.asList(keys.get(i), i))));
+            }
+        }
+
+        @Override
+        public boolean open() {
+            cursor = 0;
+            return true;
+        }
+
+        @Override
+        public Batch next() {
+            if (cursor >= tuples.size()) {
+                return null;
+            }
+            Batch page = Batch.create(schema, Batch.getPageSize() / schema.getTupleSize());
+            while (!page.isFull() && cursor < tuples.size()) {
+                page.add(tuples.get(cursor++));
+            }
+            return page;
+        }
+
+        @Override
+        public boolean close() {
+            closed++;
+            return true;
+        }
+    }
+}
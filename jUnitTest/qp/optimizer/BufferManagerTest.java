@@ -0,0 +1,35 @@
+package qp.optimizer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+import qp.utils.BufferPool;
+import qp.utils.MemoryBroker;
+
+class BufferManagerTest {
+    @Test
+    public void poolBuffersNotGivenToOperators() {
+        new BufferManager(80, 2);
+        assertEquals(10, BufferPool.getPool().getCapacity());
+        assertEquals(70, BufferManager.getNumBuffers());
+        assertEquals(70, MemoryBroker.getNumBuffer());
+        assertEquals(35, BufferManager.getBuffersPerJoin());
+    }
+
+    @Test
+    public void joinsKeepTheirMinimum() {
+        new BufferManager(10, 3);
+        assertEquals(1, BufferPool.getPool().getCapacity());
+        assertEquals(3, BufferManager.getBuffersPerJoin());
+        new BufferManager(9, 3);
+        assertEquals(0, BufferPool.getPool().getCapacity());
+        assertEquals(9, BufferManager.getNumBuffers());
+    }
+
+    @Test
+    public void withoutJoins() {
+        new BufferManager(16, 0);
+        assertEquals(2, BufferPool.getPool().getCapacity());
+        assertEquals(14, BufferManager.getBuffersPerJoin());
+    }
+}
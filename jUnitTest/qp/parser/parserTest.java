@@ -325,6 +325,36 @@ class parserTest {
         assertEquals(3,query.getOffset());
     }
 
+    @Test
+    public void selectStarOrderByLimit() throws Exception {
+        SQLQuery query = buildQuery("SELECT * FROM AIRCRAFTS ORDERBY AIRCRAFTS.aname LIMIT \"8\"");
+        assertEquals(1, query.getFromList().size());
+        assertEquals("AIRCRAFTS", query.getFromList().get(0));
+        assertEquals(0, query.getSelectionList().size());
+        assertEquals(0, query.getProjectList().size());
+        assertEquals(0, query.getNumJoin());
+        assertFalse(query.isDistinct());
+        assertEquals(0,query.getGroupByList().size());
+        assertEquals(1,query.getOrderByList().size());
+        assertEquals(8,query.getLimit());
+        assertEquals(0,query.getOffset());
+    }
+
+    @Test
+    public void selectStarGroupByOrderByLimitOffset() throws Exception {
+        SQLQuery query = buildQuery("SELECT * FROM AIRCRAFTS GROUPBY AIRCRAFTS.aname ORDERBY AIRCRAFTS.aname LIMIT \"8\" OFFSET \"3\"");
+        assertEquals(1, query.getFromList().size());
+        assertEquals("AIRCRAFTS", query.getFromList().get(0));
+        assertEquals(0, query.getSelectionList().size());
+        assertEquals(0, query.getProjectList().size());
+        assertEquals(0, query.getNumJoin());
+        assertFalse(query.isDistinct());
+        assertEquals(1,query.getGroupByList().size());
+        assertEquals(1,query.getOrderByList().size());
+        assertEquals(8,query.getLimit());
+        assertEquals(3,query.getOffset());
+    }
+
     private SQLQuery buildQuery(String input) throws Exception {
         StringReader query = new StringReader(input);
         Scaner scanner = new Scaner(query);
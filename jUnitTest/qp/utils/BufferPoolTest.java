@@ -0,0 +1,146 @@
+package qp.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.HashMap;
+
+import org.junit.jupiter.api.Test;
+
+class BufferPoolTest {
+    @Test
+    public void secondPinIsAHit() {
+        Store store = new Store(10);
+        BufferPool pool = pool(4);
+        assertEquals("page 3", pool.pin(store.name, 3, store));
+        pool.unpin(store.name, 3, false);
+        assertEquals("page 3", pool.pin(store.name, 3, store));
+        pool.unpin(store.name, 3, false);
+        assertEquals(1, pool.getMisses());
+        assertEquals(1, pool.getHits());
+        assertEquals(1, store.reads);
+        pool.discard(store.name);
+    }
+
+    @Test
+    public void missingPageIsNotKept() {
+        Store store = new Store(2);
+        BufferPool pool = pool(4);
+        assertNull(pool.pin(store.name, 5, store));
+        assertNull(pool.pin(store.name, 5, store));
+        assertEquals(2, store.reads);
+        pool.discard(store.name);
+    }
+
+    @Test
+    public void pinnedPagesAreNotEvicted() {
+        Store store = new Store(10);
+        BufferPool pool = pool(2);
+        for (int i = 0; i < 3; i++) {
+            pool.pin(store.name, i, store);
+        }
+        assertEquals(0, pool.getEvictions());
+        pool.unpin(store.name, 1, false);
+        assertEquals(1, pool.getEvictions());
+        /** pages 0 and 2 are still in the pool **/
+        pool.pin(store.name, 0, store);
+        pool.pin(store.name, 2, store);
+        assertEquals(3, store.reads);
+        pool.discard(store.name);
+    }
+
+    @Test
+    public void scanDoesNotEvictPagesUsedTwice() {
+        Store store = new Store(100);
+        BufferPool pool = pool(4);
+        for (int i = 0; i < 2; i++) {
+            use(pool, store, 0);
+            use(pool, store, 1);
+        }
+        for (int i = 10; i < 50; i++) {
+            use(pool, store, i);
+        }
+        int reads = store.reads;
+        use(pool, store, 0);
+        use(pool, store, 1);
+        assertEquals(reads, store.reads);
+        pool.discard(store.name);
+    }
+
+    @Test
+    public void dirtyPageWrittenOnEviction() {
+        Store store = new Store(10);
+        BufferPool pool = pool(1);
+        pool.write(store.name, 7, "new page 7", store);
+        assertEquals("new page 7", pool.pin(store.name, 7, store));
+        pool.unpin(store.name, 7, false);
+        assertEquals(0, store.reads);
+        assertEquals(0, store.writes.size());
+        use(pool, store, 1);
+        assertEquals("new page 7", store.writes.get(7));
+        assertEquals(1, pool.getWrites());
+        pool.discard(store.name);
+    }
+
+    @Test
+    public void discardDoesNotWrite() {
+        Store store = new Store(10);
+        BufferPool pool = pool(4);
+        pool.write(store.name, 2, "new page 2", store);
+        pool.discard(store.name);
+        assertEquals(0, store.writes.size());
+        assertEquals("page 2", pool.pin(store.name, 2, store));
+        pool.unpin(store.name, 2, false);
+        pool.discard(store.name);
+    }
+
+    @Test
+    public void noCapacityKeepsNothing() {
+        Store store = new Store(10);
+        BufferPool pool = pool(0);
+        use(pool, store, 1);
+        use(pool, store, 1);
+        assertEquals(2, store.reads);
+        pool.write(store.name, 3, "new page 3", store);
+        assertEquals("new page 3", store.writes.get(3));
+        pool.discard(store.name);
+    }
+
+    private static void use(BufferPool pool, Store store, int pageNum) {
+        pool.pin(store.name, pageNum, store);
+        pool.unpin(store.name, pageNum, false);
+    }
+
+    private static BufferPool pool(int capacity) {
+        BufferPool pool = BufferPool.getPool();
+        pool.setCapacity(capacity);
+        pool.resetStatistics();
+        return pool;
+    }
+
+    /**
+     * Pages kept in memory, counting the reads and the writes
+     */
+    private static class Store implements BufferPool.PageStore {
+        private static int count = 0;
+        final String name = "BufferPoolTest-" + (count++);
+        final int numPages;
+        final HashMap<Integer, Object> writes = new HashMap<>();
+        int reads = 0;
+
+        Store(int numPages) {
+            this.numPages = numPages;
+        }
+
+        @Override
+        public Object readPage(int pageNum) {
+            reads++;
+            return pageNum < numPages ? "page " + pageNum : null;
+        }
+
+        @Override
+        public void writePage(int pageNum, Object page) {
+            writes.put(pageNum, page);
+        }
+    }
+}
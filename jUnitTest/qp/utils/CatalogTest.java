@@ -0,0 +1,112 @@
+package qp.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+
+import org.junit.jupiter.api.Test;
+
+class CatalogTest {
+    @Test
+    public void schemaIsACopy() throws IOException {
+        String tabname = writeTable("CatalogTestCopy", "100\n10\t5\n");
+        try {
+            Schema schema = Catalog.getSchema(tabname);
+            assertEquals(2, schema.getNumCols());
+            schema.add(new Attribute(tabname, "extra", Attribute.INT, -1, 4));
+            assertEquals(2, Catalog.getSchema(tabname).getNumCols());
+        } finally {
+            deleteTable(tabname);
+        }
+    }
+
+    @Test
+    public void statisticsAreCached() throws IOException {
+        String tabname = writeTable("CatalogTestCached", "100\n10\t5\n");
+        try {
+            Catalog.Statistics statistics = Catalog.getStatistics(tabname);
+            assertEquals(100, statistics.getNumTuples());
+            assertEquals(10, statistics.getNumDistinct(0));
+            assertEquals(5, statistics.getNumDistinct(1));
+            assertSame(statistics, Catalog.getStatistics(tabname));
+        } finally {
+            deleteTable(tabname);
+        }
+    }
+
+    @Test
+    public void modifiedStatisticsAreReadAgain() throws IOException {
+        String tabname = writeTable("CatalogTestModified", "100\n10\t5\n");
+        try {
+            Catalog.Statistics before = Catalog.getStatistics(tabname);
+            writeStatistics(tabname, "2000\n10\t5\n");
+            Catalog.Statistics after = Catalog.getStatistics(tabname);
+            assertNotSame(before, after);
+            assertEquals(2000, after.getNumTuples());
+        } finally {
+            deleteTable(tabname);
+        }
+    }
+
+    @Test
+    public void clearForgetsTables() throws IOException {
+        String tabname = writeTable("CatalogTestClear", "100\n10\t5\n");
+        try {
+            Catalog.Statistics before = Catalog.getStatistics(tabname);
+            Catalog.clear();
+            Catalog.Statistics after = Catalog.getStatistics(tabname);
+            assertNotSame(before, after);
+            assertEquals(100, after.getNumTuples());
+        } finally {
+            deleteTable(tabname);
+        }
+    }
+
+    @Test
+    public void histogramsAreOptional() throws IOException {
+        String tabname = writeTable("CatalogTestHistograms", "100\n10\t5\n2\t0\t50\t99\n");
+        try {
+            Catalog.Statistics statistics = Catalog.getStatistics(tabname);
+            Histogram histogram = statistics.getHistogram(0);
+            assertNotNull(histogram);
+            assertEquals(0, histogram.getMin());
+            assertEquals(99, histogram.getMax());
+            assertNull(statistics.getHistogram(1));
+        } finally {
+            deleteTable(tabname);
+        }
+    }
+
+    /** Writes the schema {a INT, b STRING} and the statistics of a new table **/
+    private static String writeTable(String prefix, String statistics) throws IOException {
+        String tabname = prefix + System.nanoTime();
+        ArrayList<Attribute> attrs = new ArrayList<>();
+        attrs.add(new Attribute(tabname, "a", Attribute.INT, -1, 4));
+        attrs.add(new Attribute(tabname, "b", Attribute.STRING, -1, 10));
+        try (ObjectOutputStream out = new ObjectOutputStream(new FileOutputStream(tabname + ".md"))) {
+            out.writeObject(new Schema(attrs));
+        }
+        writeStatistics(tabname, statistics);
+        return tabname;
+    }
+
+    private static void writeStatistics(String tabname, String statistics) throws IOException {
+        try (PrintWriter out = new PrintWriter(tabname + ".stat")) {
+            out.print(statistics);
+        }
+    }
+
+    private static void deleteTable(String tabname) {
+        new File(tabname + ".md").delete();
+        new File(tabname + ".stat").delete();
+    }
+}
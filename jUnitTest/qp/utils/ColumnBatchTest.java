@@ -0,0 +1,117 @@
+package qp.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+class ColumnBatchTest {
+    @Test
+    public void addAndGet() {
+        ColumnBatch batch = buildBatch(3);
+        assertEquals(3, batch.size());
+        assertEquals(Arrays.asList(1, 1.5f, "s1"), batch.get(1).data());
+        assertEquals(2, batch.getInt(2, 0));
+        assertEquals("s0", batch.getString(0, 2));
+    }
+
+    @Test
+    public void selectKeepsListedRows() {
+        ColumnBatch batch = buildBatch(5);
+        ColumnBatch selected = batch.select(new int[]{1, 3, 4}, 2);
+        assertEquals(2, selected.size());
+        assertEquals(1, selected.rowAt(0));
+        assertEquals(3, selected.rowAt(1));
+        assertEquals(Arrays.asList(3, 3.5f, "s3"), selected.get(1).data());
+    }
+
+    @Test
+    public void selectOfSelectMapsToPhysicalRows() {
+        ColumnBatch batch = buildBatch(6);
+        ColumnBatch selected = batch.select(new int[]{0, 2, 4, 5}, 4).select(new int[]{1, 3}, 2);
+        assertEquals(2, selected.size());
+        assertEquals(Arrays.asList(2, 2.5f, "s2"), selected.get(0).data());
+        assertEquals(Arrays.asList(5, 5.5f, "s5"), selected.get(1).data());
+    }
+
+    @Test
+    public void projectKeepsGivenColumns() {
+        ColumnBatch batch = buildBatch(3);
+        ColumnBatch projected = batch.project(new int[]{2, 0});
+        assertEquals(2, projected.getNumCols());
+        assertEquals(Attribute.STRING, projected.getType(0));
+        assertEquals(Arrays.asList("s2", 2), projected.get(2).data());
+    }
+
+    @Test
+    public void addToSelectedLeavesBaseUnchanged() {
+        ColumnBatch batch = buildBatch(4);
+        ColumnBatch selected = batch.select(new int[]{2, 3}, 2);
+        selected.add(tuple(9));
+        assertEquals(3, selected.size());
+        assertEquals(Arrays.asList(2, 2.5f, "s2"), selected.get(0).data());
+        assertEquals(Arrays.asList(9, 9.5f, "s9"), selected.get(2).data());
+        for (int i = 0; i < 4; ++i) {
+            assertEquals(tuple(i).data(), batch.get(i).data());
+        }
+    }
+
+    @Test
+    public void removeFromSelectedLeavesSiblingUnchanged() {
+        ColumnBatch batch = buildBatch(4);
+        ColumnBatch first = batch.select(new int[]{0, 1, 2}, 3);
+        ColumnBatch second = batch.select(new int[]{1, 2, 3}, 3);
+        first.remove(0);
+        assertEquals(Arrays.asList(1, 1.5f, "s1"), first.get(0).data());
+        for (int i = 0; i < 3; ++i) {
+            assertEquals(tuple(i + 1).data(), second.get(i).data());
+        }
+    }
+
+    @Test
+    public void changingBaseLeavesProjectedUnchanged() {
+        ColumnBatch batch = buildBatch(2);
+        ColumnBatch projected = batch.project(new int[]{0});
+        batch.clear();
+        batch.add(tuple(7));
+        batch.set(tuple(8), 0);
+        assertEquals(Arrays.asList(8, 8.5f, "s8"), batch.get(0).data());
+        assertEquals(Arrays.asList(0), projected.get(0).data());
+        assertEquals(Arrays.asList(1), projected.get(1).data());
+    }
+
+    @Test
+    public void removeLastSelectedRow() {
+        ColumnBatch batch = buildBatch(4);
+        ColumnBatch selected = batch.select(new int[]{0, 3}, 2);
+        selected.remove(1);
+        assertEquals(1, selected.size());
+        assertEquals(4, batch.size());
+    }
+
+    private static Schema buildSchema() {
+        ArrayList<Attribute> attrs = new ArrayList<>();
+        attrs.add(new Attribute("T", "i", Attribute.INT, -1, 4));
+        attrs.add(new Attribute("T", "r", Attribute.REAL, -1, 4));
+        attrs.add(new Attribute("T", "s", Attribute.STRING, -1, 10));
+        return new Schema(attrs);
+    }
+
+    private static Tuple tuple(int i) {
+        ArrayList<Object> data = new ArrayList<>();
+        data.add(i);
+        data.add(i + 0.5f);
+        data.add("s" + i);
+        return new Tuple(data);
+    }
+
+    private static ColumnBatch buildBatch(int n) {
+        ColumnBatch batch = new ColumnBatch(buildSchema(), 10);
+        for (int i = 0; i < n; ++i) {
+            batch.add(tuple(i));
+        }
+        return batch;
+    }
+}
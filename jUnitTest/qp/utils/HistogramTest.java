@@ -0,0 +1,128 @@
+package qp.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+
+import org.junit.jupiter.api.Test;
+
+class HistogramTest {
+    private static final double EPSILON = 0.01;
+
+    @Test
+    public void emptyColumnHasNoHistogram() {
+        assertNull(Histogram.build(new ArrayList<>(), Attribute.INT));
+        assertNull(Histogram.parse("0", Attribute.INT));
+    }
+
+    @Test
+    public void uniformRanges() {
+        Histogram histogram = Histogram.build(range(0, 1000), Attribute.INT);
+        assertEquals(0, histogram.getMin());
+        assertEquals(999, histogram.getMax());
+        assertClose(0.5, histogram.selectivity(Condition.LESSTHAN, 500, 1000));
+        assertClose(0.25, histogram.selectivity(Condition.GTOE, 750, 1000));
+        assertClose(0.1, histogram.fractionWithin(100, 199));
+        assertEquals(0.0, histogram.fractionWithin(300, 200));
+        assertEquals(0.0, histogram.selectivity(Condition.LESSTHAN, -5, 1000));
+        assertClose(1.0, histogram.selectivity(Condition.LTOE, 999, 1000));
+    }
+
+    @Test
+    public void uniformEquality() {
+        Histogram histogram = Histogram.build(range(0, 1000), Attribute.INT);
+        assertClose(0.001, histogram.selectivity(Condition.EQUAL, 123, 1000));
+        assertClose(0.999, histogram.selectivity(Condition.NOTEQUAL, 123, 1000));
+        assertEquals(0.0, histogram.fractionEqual(5000, 1000));
+    }
+
+    @Test
+    public void commonValueKeepsItsFrequency() {
+        ArrayList<Object> values = range(0, 500);
+        for (int i = 0; i < 500; i++) {
+            values.add(7);
+        }
+        Histogram histogram = Histogram.build(values, Attribute.INT);
+        assertClose(501.0 / 1000, histogram.fractionEqual(7, 500));
+        assertTrue(histogram.fractionEqual(300, 500) < 0.01);
+    }
+
+    @Test
+    public void parseReadsToString() {
+        ArrayList<Object> values = range(0, 200);
+        for (int i = 0; i < 100; i++) {
+            values.add(42);
+        }
+        Histogram histogram = Histogram.build(values, Attribute.INT);
+        Histogram parsed = Histogram.parse(histogram.toString(), Attribute.INT);
+        assertEquals(histogram.toString(), parsed.toString());
+        assertEquals(histogram.getMin(), parsed.getMin());
+        assertEquals(histogram.getMax(), parsed.getMax());
+        assertClose(histogram.fractionEqual(42, 200), parsed.fractionEqual(42, 200));
+    }
+
+    @Test
+    public void parseWithoutCommonValues() {
+        Histogram histogram = Histogram.parse("2\t0.0\t5.0\t10.0", Attribute.REAL);
+        assertEquals(0.0f, histogram.getMin());
+        assertEquals(10.0f, histogram.getMax());
+        assertClose(0.25, histogram.fractionBelow(2.5f, false));
+    }
+
+    @Test
+    public void restrictKeepsTheRange() {
+        Histogram histogram = Histogram.build(range(0, 1000), Attribute.INT);
+        Histogram below = histogram.restrict(Condition.LESSTHAN, Histogram.valueOf("250", Attribute.INT));
+        assertEquals(0, below.getMin());
+        assertEquals(250, below.getMax());
+        assertClose(0.5, below.fractionBelow(125, false));
+        Histogram above = histogram.restrict(Condition.GREATERTHAN, Histogram.valueOf("900", Attribute.INT));
+        assertEquals(900, above.getMin());
+        assertEquals(999, above.getMax());
+        assertNull(histogram.restrict(Condition.GREATERTHAN, Histogram.valueOf("999", Attribute.INT)));
+        assertNull(histogram.restrict(Condition.EQUAL, Histogram.valueOf("2000", Attribute.INT)));
+        Histogram equal = histogram.restrict(Condition.EQUAL, Histogram.valueOf("10", Attribute.INT));
+        assertEquals(10, equal.getMin());
+        assertEquals(10, equal.getMax());
+    }
+
+    @Test
+    public void overlapOfRanges() {
+        Histogram h1 = Histogram.build(range(0, 100), Attribute.INT);
+        Histogram h2 = Histogram.build(range(50, 300), Attribute.INT);
+        Object[] overlap = h1.overlap(h2);
+        assertNotNull(overlap);
+        assertEquals(50, overlap[0]);
+        assertEquals(99, overlap[1]);
+        assertNull(h1.overlap(Histogram.build(range(200, 300), Attribute.INT)));
+    }
+
+    @Test
+    public void strings() {
+        ArrayList<Object> values = new ArrayList<>();
+        for (char c = 'a'; c <= 'z'; c++) {
+            values.add(String.valueOf(c));
+        }
+        Histogram histogram = Histogram.build(values, Attribute.STRING);
+        assertEquals("a", histogram.getMin());
+        assertEquals("z", histogram.getMax());
+        assertEquals(0.0, histogram.fractionBelow("a", false));
+        assertClose(1.0, histogram.fractionBelow("z", true));
+        assertEquals(0.0, histogram.fractionEqual("zz", 26));
+    }
+
+    private static ArrayList<Object> range(int from, int to) {
+        ArrayList<Object> values = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            values.add(i);
+        }
+        return values;
+    }
+
+    private static void assertClose(double expected, double actual) {
+        assertTrue(Math.abs(expected - actual) < EPSILON, "expected " + expected + " got " + actual);
+    }
+}
@@ -0,0 +1,127 @@
+package qp.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class LoserTreeTest {
+    @Test
+    public void mergesInOrder() {
+        int[][] runs = {{1, 4, 7}, {2, 5, 8}, {0, 3, 6, 9}};
+        ArrayList<Tuple> merged = merge(runs);
+        assertEquals(10, merged.size());
+        for (int i = 0; i < merged.size(); ++i) {
+            assertEquals(i, merged.get(i).dataAt(0));
+        }
+    }
+
+    @Test
+    public void equalKeysKeepInputOrder() {
+        int[][] runs = {{1, 2, 2}, {2, 2}, {0, 2, 3}};
+        ArrayList<Tuple> merged = merge(runs);
+        int lastRun = -1;
+        for (Tuple t : merged) {
+            if ((Integer) t.dataAt(0) == 2) {
+                assertTrue((Integer) t.dataAt(1) >= lastRun, "run " + t.dataAt(1) + " after run " + lastRun);
+                lastRun = (Integer) t.dataAt(1);
+            }
+        }
+        assertEquals(2, lastRun);
+    }
+
+    @Test
+    public void emptyInputs() {
+        int[][] runs = {{}, {3}, {}, {1, 2}, {}};
+        ArrayList<Tuple> merged = merge(runs);
+        assertEquals(3, merged.size());
+        assertEquals(1, merged.get(0).dataAt(0));
+        assertEquals(3, merged.get(2).dataAt(0));
+    }
+
+    @Test
+    public void allInputsEmpty() {
+        LoserTree tree = new LoserTree(3, sortKey());
+        for (int i = 0; i < 3; ++i) {
+            tree.set(i, null, 0);
+        }
+        tree.build();
+        assertEquals(-1, tree.winner());
+        assertNull(tree.winnerTuple());
+    }
+
+    @Test
+    public void singleInput() {
+        ArrayList<Tuple> merged = merge(new int[][]{{4, 5, 6}});
+        assertEquals(3, merged.size());
+        assertEquals(6, merged.get(2).dataAt(0));
+    }
+
+    @Test
+    public void randomRunsStable() {
+        Random random = new Random(42);
+        for (int k = 1; k <= 9; ++k) {
+            int[][] runs = new int[k][];
+            int total = 0;
+            for (int r = 0; r < k; ++r) {
+                runs[r] = new int[random.nextInt(20)];
+                for (int i = 0; i < runs[r].length; ++i) {
+                    runs[r][i] = random.nextInt(10);
+                }
+                Arrays.sort(runs[r]);
+                total += runs[r].length;
+            }
+            ArrayList<Tuple> merged = merge(runs);
+            assertEquals(total, merged.size());
+            for (int i = 1; i < merged.size(); ++i) {
+                Tuple prev = merged.get(i - 1);
+                Tuple next = merged.get(i);
+                int cmp = Integer.compare((Integer) prev.dataAt(0), (Integer) next.dataAt(0));
+                assertTrue(cmp < 0 || (cmp == 0 && (Integer) prev.dataAt(1) <= (Integer) next.dataAt(1)),
+                        "k=" + k + " position " + i);
+            }
+        }
+    }
+
+    /** Merges the runs, every tuple is {value, run} **/
+    private static ArrayList<Tuple> merge(int[][] runs) {
+        SortKey sortKey = sortKey();
+        LoserTree tree = new LoserTree(runs.length, sortKey);
+        int[] cursor = new int[runs.length];
+        for (int r = 0; r < runs.length; ++r) {
+            Tuple first = next(runs, cursor, r);
+            tree.set(r, first, first == null ? 0 : sortKey.of(first));
+        }
+        tree.build();
+        ArrayList<Tuple> merged = new ArrayList<>();
+        int winner;
+        while ((winner = tree.winner()) >= 0) {
+            merged.add(tree.winnerTuple());
+            Tuple next = next(runs, cursor, winner);
+            tree.replaceWinner(next, next == null ? 0 : sortKey.of(next));
+        }
+        return merged;
+    }
+
+    private static Tuple next(int[][] runs, int[] cursor, int r) {
+        if (cursor[r] >= runs[r].length) {
+            return null;
+        }
+        Tuple t = new Tuple(new ArrayList<>(Arrays.asList(runs[r][cursor[r]], r)));
+        cursor[r]++;
+        return t;
+    }
+
+    /** Sorts on the value only **/
+    private static SortKey sortKey() {
+        ArrayList<Attribute> attrs = new ArrayList<>();
+        attrs.add(new Attribute("T", "value", Attribute.INT, -1, 4));
+        attrs.add(new Attribute("T", "run", Attribute.INT, -1, 4));
+        return new SortKey(new Schema(attrs), new ArrayList<>(Arrays.asList(0)));
+    }
+}
@@ -0,0 +1,126 @@
+package qp.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+
+import org.junit.jupiter.api.Test;
+
+class PredicateTest {
+    private static final Attribute I = new Attribute("T", "i", Attribute.INT, -1, 4);
+    private static final Attribute R = new Attribute("T", "r", Attribute.REAL, -1, 4);
+    private static final Attribute S = new Attribute("T", "s", Attribute.STRING, -1, 10);
+    private static final Attribute R2 = new Attribute("T", "r2", Attribute.REAL, -1, 4);
+
+    @Test
+    public void intConstant() {
+        Tuple t = tuple(5, 1f, "b", 1f);
+        assertTrue(test(I, Condition.LESSTHAN, "6", t));
+        assertFalse(test(I, Condition.LESSTHAN, "5", t));
+        assertTrue(test(I, Condition.LTOE, "5", t));
+        assertTrue(test(I, Condition.GREATERTHAN, "-1", t));
+        assertTrue(test(I, Condition.GTOE, "5", t));
+        assertTrue(test(I, Condition.EQUAL, "5", t));
+        assertFalse(test(I, Condition.NOTEQUAL, "5", t));
+    }
+
+    @Test
+    public void stringConstant() {
+        Tuple t = tuple(0, 1f, "b", 1f);
+        assertTrue(test(S, Condition.EQUAL, "b", t));
+        assertTrue(test(S, Condition.NOTEQUAL, "a", t));
+        assertTrue(test(S, Condition.GREATERTHAN, "a", t));
+        assertFalse(test(S, Condition.LESSTHAN, "b", t));
+    }
+
+    @Test
+    public void realConstant() {
+        Tuple t = tuple(0, 1.5f, "b", 1f);
+        assertTrue(test(R, Condition.GREATERTHAN, "1.25", t));
+        assertTrue(test(R, Condition.EQUAL, "1.5", t));
+        assertFalse(test(R, Condition.LESSTHAN, "1.5", t));
+    }
+
+    @Test
+    public void realNaNOnlySatisfiesNotEqual() {
+        Tuple t = tuple(0, Float.NaN, "b", Float.NaN);
+        for (int exprtype = Condition.LESSTHAN; exprtype < Condition.NOTEQUAL; ++exprtype) {
+            assertFalse(test(R, exprtype, "1", t), "constant, operator " + exprtype);
+            assertFalse(test(R, exprtype, R2, t), "column, operator " + exprtype);
+        }
+        assertTrue(test(R, Condition.NOTEQUAL, "NaN", t));
+        assertTrue(test(R, Condition.NOTEQUAL, R2, t));
+    }
+
+    @Test
+    public void realNegativeZeroEqualsZero() {
+        Tuple t = tuple(0, -0.0f, "b", 0.0f);
+        assertTrue(test(R, Condition.EQUAL, "0.0", t));
+        assertTrue(test(R, Condition.EQUAL, R2, t));
+        assertFalse(test(R, Condition.LESSTHAN, "0.0", t));
+        assertFalse(test(R, Condition.LESSTHAN, R2, t));
+    }
+
+    @Test
+    public void columnsCompared() {
+        Tuple t = tuple(0, 1f, "b", 2f);
+        assertTrue(test(R, Condition.LESSTHAN, R2, t));
+        assertFalse(test(R2, Condition.LTOE, R, t));
+    }
+
+    @Test
+    public void filterAgreesWithTest() {
+        Schema schema = schema();
+        Batch rows = new Batch(8);
+        ColumnBatch columns = new ColumnBatch(schema, 8);
+        float[] reals = {3f, Float.NaN, -0.0f, 0.0f, 1.5f, -2f, Float.NaN, 7f};
+        for (int i = 0; i < reals.length; ++i) {
+            Tuple t = tuple(i, reals[i], "s" + i, 0f);
+            rows.add(t);
+            columns.add(t);
+        }
+        Object[][] conditions = {{I, "3"}, {R, "0.0"}, {R, "NaN"}, {S, "s4"}, {R, R2}};
+        for (Object[] c : conditions) {
+            for (int exprtype = Condition.LESSTHAN; exprtype <= Condition.NOTEQUAL; ++exprtype) {
+                Predicate p = Predicate.compile(new Condition((Attribute) c[0], exprtype, c[1]), schema);
+                int[] fromRows = {0, 1, 2, 3, 4, 5, 6, 7};
+                int[] fromColumns = {0, 1, 2, 3, 4, 5, 6, 7};
+                int n = p.filter(rows, fromRows, 8);
+                assertEquals(n, p.filter(columns, fromColumns, 8), c[0] + " " + exprtype + " " + c[1]);
+                int expected = 0;
+                for (int i = 0; i < 8; ++i) {
+                    if (p.test(rows.get(i))) {
+                        assertEquals(i, fromRows[expected]);
+                        assertEquals(i, fromColumns[expected]);
+                        expected++;
+                    }
+                }
+                assertEquals(expected, n);
+            }
+        }
+    }
+
+    private static boolean test(Attribute attr, int exprtype, Object rhs, Tuple t) {
+        return Predicate.compile(new Condition(attr, exprtype, rhs), schema()).test(t);
+    }
+
+    private static Schema schema() {
+        ArrayList<Attribute> attrs = new ArrayList<>();
+        attrs.add(I);
+        attrs.add(R);
+        attrs.add(S);
+        attrs.add(R2);
+        return new Schema(attrs);
+    }
+
+    private static Tuple tuple(int i, float r, String s, float r2) {
+        ArrayList<Object> data = new ArrayList<>();
+        data.add(i);
+        data.add(r);
+        data.add(s);
+        data.add(r2);
+        return new Tuple(data);
+    }
+}
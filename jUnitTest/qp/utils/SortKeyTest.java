@@ -0,0 +1,123 @@
+package qp.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+class SortKeyTest {
+    @Test
+    public void intKeysFollowSignedOrder() {
+        int[] values = {Integer.MIN_VALUE, -100, -1, 0, 1, 42, Integer.MAX_VALUE};
+        Schema schema = schema(Attribute.INT);
+        SortKey sortKey = new SortKey(schema, indices(0));
+        assertTrue(sortKey.isExact());
+        for (int a : values) {
+            for (int b : values) {
+                assertEquals(Integer.signum(Integer.compare(a, b)),
+                        Integer.signum(compare(sortKey, tuple(a), tuple(b))), a + " vs " + b);
+            }
+        }
+    }
+
+    @Test
+    public void realKeysFollowFloatCompare() {
+        float[] values = {Float.NEGATIVE_INFINITY, -3.5f, -1f, -Float.MIN_VALUE, -0.0f, 0.0f,
+                Float.MIN_VALUE, 1f, 2.25f, Float.MAX_VALUE, Float.POSITIVE_INFINITY, Float.NaN};
+        Schema schema = schema(Attribute.REAL);
+        SortKey sortKey = new SortKey(schema, indices(0));
+        for (float a : values) {
+            for (float b : values) {
+                assertEquals(Integer.signum(Float.compare(a, b)),
+                        Integer.signum(compare(sortKey, tuple(a), tuple(b))), a + " vs " + b);
+            }
+        }
+    }
+
+    @Test
+    public void negativeZeroBelowZero() {
+        SortKey sortKey = new SortKey(schema(Attribute.REAL), indices(0));
+        assertTrue(Long.compareUnsigned(sortKey.of(tuple(-0.0f)), sortKey.of(tuple(0.0f))) < 0);
+    }
+
+    @Test
+    public void nanAboveInfinity() {
+        SortKey sortKey = new SortKey(schema(Attribute.REAL), indices(0));
+        assertTrue(Long.compareUnsigned(sortKey.of(tuple(Float.NaN)), sortKey.of(tuple(Float.POSITIVE_INFINITY))) > 0);
+    }
+
+    @Test
+    public void twoIntsPackedExactly() {
+        SortKey sortKey = new SortKey(schema(Attribute.INT, Attribute.INT), indices(0, 1));
+        assertTrue(sortKey.isExact());
+        assertTrue(compare(sortKey, tuple(1, 5), tuple(1, 6)) < 0);
+        assertTrue(compare(sortKey, tuple(-1, 9), tuple(1, -9)) < 0);
+        assertEquals(0, compare(sortKey, tuple(3, 3), tuple(3, 3)));
+    }
+
+    @Test
+    public void thirdIntDecidedByTieBreak() {
+        SortKey sortKey = new SortKey(schema(Attribute.INT, Attribute.INT, Attribute.INT), indices(0, 1, 2));
+        assertFalse(sortKey.isExact());
+        Tuple t1 = tuple(1, 2, 3);
+        Tuple t2 = tuple(1, 2, 4);
+        assertEquals(sortKey.of(t1), sortKey.of(t2));
+        assertTrue(compare(sortKey, t1, t2) < 0);
+        assertTrue(compare(sortKey, t2, t1) > 0);
+    }
+
+    @Test
+    public void stringPrefixTieBreak() {
+        SortKey sortKey = new SortKey(schema(Attribute.STRING), indices(0));
+        assertFalse(sortKey.isExact());
+        /** the key holds the first four characters **/
+        assertEquals(sortKey.of(tuple("abcdX")), sortKey.of(tuple("abcdY")));
+        assertTrue(compare(sortKey, tuple("abcdX"), tuple("abcdY")) < 0);
+        assertTrue(compare(sortKey, tuple("abc"), tuple("abcd")) < 0);
+        assertTrue(compare(sortKey, tuple("b"), tuple("abcd")) > 0);
+        assertEquals(0, compare(sortKey, tuple("abcdef"), tuple("abcdef")));
+    }
+
+    @Test
+    public void stringsSortLikeCompareTo() {
+        String[] values = {"", "a", "ab", "abcd", "abcde", "abcdf", "b", "B", "zz"};
+        SortKey sortKey = new SortKey(schema(Attribute.STRING), indices(0));
+        for (String a : values) {
+            for (String b : values) {
+                assertEquals(Integer.signum(a.compareTo(b)),
+                        Integer.signum(compare(sortKey, tuple(a), tuple(b))), a + " vs " + b);
+            }
+        }
+    }
+
+    @Test
+    public void intThenString() {
+        SortKey sortKey = new SortKey(schema(Attribute.INT, Attribute.STRING), indices(0, 1));
+        assertTrue(compare(sortKey, tuple(1, "zz"), tuple(2, "aa")) < 0);
+        assertTrue(compare(sortKey, tuple(2, "abX"), tuple(2, "abY")) < 0);
+    }
+
+    private static int compare(SortKey sortKey, Tuple t1, Tuple t2) {
+        return sortKey.compare(sortKey.of(t1), t1, sortKey.of(t2), t2);
+    }
+
+    private static Schema schema(int... types) {
+        ArrayList<Attribute> attrs = new ArrayList<>();
+        for (int i = 0; i < types.length; ++i) {
+            attrs.add(new Attribute("T", "c" + i, types[i], -1, 4));
+        }
+        return new Schema(attrs);
+    }
+
+    private static ArrayList<Integer> indices(Integer... index) {
+        return new ArrayList<>(Arrays.asList(index));
+    }
+
+    private static Tuple tuple(Object... values) {
+        return new Tuple(new ArrayList<>(Arrays.asList(values)));
+    }
+}
@@ -0,0 +1,203 @@
+/*
+  builds the statistics file <tablename>.stat read by the optimizer from
+  a table in the binary page format: the number of tuples, the number of
+  distinct values of each column and the histogram of each column with
+  its most common values. the tables, and the columns of every table,
+  are analyzed in parallel. with -sample only the given percentage of the
+  pages is read, the pages are chosen at random and the number of distinct
+  values is estimated from the sample
+*/
+
+import qp.utils.Histogram;
+import qp.utils.PageLayout;
+import qp.utils.Schema;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class Analyze {
+
+    static final int NUMTHREADS = Runtime.getRuntime().availableProcessors();
+
+    static double sample = 100;          // Percentage of the pages read
+    static ExecutorService columnPool;   // Workers computing the statistics of the columns
+
+    public static void main(String[] args) {
+        int first = 0;
+        if (args.length >= 2 && args[0].equals("-sample")) {
+            sample = Double.parseDouble(args[1]);
+            first = 2;
+        }
+        if (args.length <= first || sample <= 0 || sample > 100) {
+            System.out.println("usage: java Analyze [-sample <percentage>] <tablename> ... \n writes <tablename>.stat from <tablename>.tbl");
+            System.exit(1);
+        }
+
+        ExecutorService tablePool = newPool(Math.min(NUMTHREADS, args.length - first), "analyze-table");
+        columnPool = newPool(NUMTHREADS, "analyze-column");
+        ArrayList<Future<Boolean>> tables = new ArrayList<>();
+        for (int i = first; i < args.length; ++i) {
+            String tblname = args[i];
+            tables.add(tablePool.submit(() -> analyze(tblname)));
+        }
+        boolean done = true;
+        try {
+            for (Future<Boolean> table : tables) {
+                done &= table.get();
+            }
+        } catch (InterruptedException | ExecutionException e) {
+            System.out.println("error in analyzing the tables");
+            System.exit(1);
+        }
+        tablePool.shutdown();
+        columnPool.shutdown();
+        if (!done) {
+            System.exit(1);
+        }
+    }
+
+    private static ExecutorService newPool(int threads, String name) {
+        return Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, name);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Reads the table, or a sample of its pages, and writes its statistics file
+     **/
+    private static boolean analyze(String tblname) throws InterruptedException, ExecutionException {
+        String mdfile = tblname + ".md";
+        String tblfile = tblname + ".tbl";
+        String statfile = tblname + ".stat";
+
+        Schema schema;
+        try (ObjectInputStream ins = new ObjectInputStream(new FileInputStream(mdfile))) {
+            schema = (Schema) ins.readObject();
+        } catch (IOException | ClassNotFoundException e) {
+            System.out.println("error in reading the schema object file " + mdfile);
+            return false;
+        }
+        int numCol = schema.getNumCols();
+        ArrayList<ArrayList<Object>> values = new ArrayList<>();
+        for (int j = 0; j < numCol; ++j) {
+            values.add(new ArrayList<>());
+        }
+
+        int numtuple;
+        int numpage;
+        int numread;
+        try (FileChannel channel = FileChannel.open(Paths.get(tblfile), StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(PageLayout.FILE_HEADER_SIZE);
+            readFully(channel, header, 0);
+            if (header.getInt(0) != PageLayout.MAGIC) {
+                System.out.println(tblfile + " is not in the binary page format, run MigrateTbl first");
+                return false;
+            }
+            PageLayout layout = new PageLayout(schema, PageLayout.headerPageSize(header));
+            if (!layout.checkHeader(header)) {
+                System.out.println(tblfile + " does not match the schema of " + tblname);
+                return false;
+            }
+            numtuple = PageLayout.headerNumTuples(header);
+            numpage = PageLayout.headerNumPages(header);
+
+            /** the sampled pages are read in file order **/
+            ArrayList<Integer> pages = new ArrayList<>();
+            for (int i = 0; i < numpage; ++i) {
+                pages.add(i);
+            }
+            if (sample < 100) {
+                Collections.shuffle(pages, new Random(System.currentTimeMillis()));
+                int numsample = Math.max(1, (int) Math.ceil(numpage * sample / 100));
+                pages = new ArrayList<>(pages.subList(0, Math.min(numsample, numpage)));
+                Collections.sort(pages);
+            }
+            numread = pages.size();
+
+            ByteBuffer page = ByteBuffer.allocate(layout.getPageSize());
+            for (int pageNum : pages) {
+                page.clear();
+                readFully(channel, page, layout.pagePosition(pageNum));
+                for (int slot = 0; slot < layout.numSlots(page); ++slot) {
+                    int recOffset = layout.slotOffset(page, slot);
+                    for (int j = 0; j < numCol; ++j) {
+                        values.get(j).add(layout.readValue(page, recOffset, j));
+                    }
+                }
+            }
+        } catch (IOException io) {
+            System.out.println("error in reading " + tblfile);
+            return false;
+        }
+
+        /** the columns are summarized in parallel **/
+        ArrayList<Future<Integer>> distinct = new ArrayList<>();
+        ArrayList<Future<Histogram>> histograms = new ArrayList<>();
+        for (int j = 0; j < numCol; ++j) {
+            ArrayList<Object> column = values.get(j);
+            int type = schema.typeOf(j);
+            distinct.add(columnPool.submit(() -> countDistinct(column, numtuple)));
+            histograms.add(columnPool.submit(() -> Histogram.build(column, type)));
+        }
+
+        try (PrintWriter outstat = new PrintWriter(new BufferedWriter(new FileWriter(statfile)))) {
+            outstat.println(numtuple);
+            for (int j = 0; j < numCol; ++j) {
+                outstat.print(distinct.get(j).get() + "\t");
+            }
+            outstat.println();
+            for (int j = 0; j < numCol; ++j) {
+                Histogram histogram = histograms.get(j).get();
+                outstat.println(histogram == null ? "0" : histogram.toString());
+            }
+        } catch (IOException io) {
+            System.out.println("error in writing " + statfile);
+            return false;
+        }
+        System.out.println(statfile + ": " + numtuple + " tuples, " + numread + " of " + numpage + " pages read");
+        return true;
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException();
+            }
+        }
+    }
+
+    /**
+     * Number of distinct values of a column of numtuple tuples. The values
+     * * of a sample that occur once stand for sqrt(numtuple / sample size)
+     * * values each, those occurring more often are taken to be all the
+     * * values of their kind (the GEE estimator)
+     **/
+    private static int countDistinct(ArrayList<Object> column, int numtuple) {
+        HashMap<Object, Integer> counts = new HashMap<>();
+        for (Object value : column) {
+            counts.merge(value, 1, Integer::sum);
+        }
+        if (column.size() >= numtuple) {
+            return counts.size();
+        }
+        int once = 0;
+        for (int count : counts.values()) {
+            if (count == 1) {
+                once++;
+            }
+        }
+        double estimate = Math.sqrt((double) numtuple / column.size()) * once + (counts.size() - once);
+        return (int) Math.max(counts.size(), Math.min(numtuple, Math.round(estimate)));
+    }
+
+}
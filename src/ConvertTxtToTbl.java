@@ -7,6 +7,7 @@
 
 import qp.utils.Attribute;
 import qp.utils.Schema;
+import qp.utils.TableWriter;
 import qp.utils.Tuple;
 
 import java.io.*;
@@ -25,9 +26,8 @@ public class ConvertTxtToTbl {
         String mdfile = tblname + ".md";
         String tblfile = tblname + ".tbl";
 
-        /** open the input and output streams **/
+        /** open the input stream **/
         BufferedReader in = new BufferedReader(new FileReader(tblname + ".txt"));
-        ObjectOutputStream outtbl = new ObjectOutputStream(new FileOutputStream(tblfile));
 
         /** First Line is METADATA **/
         int linenum = 0;
@@ -41,6 +41,12 @@ public class ConvertTxtToTbl {
             System.exit(1);
         }
 
+        /** the table is written in the binary page format derived from the schema **/
+        TableWriter outtbl = new TableWriter(tblfile, schema);
+        if (!outtbl.open()) {
+            System.exit(1);
+        }
+
         boolean flag = false;
         StringTokenizer tokenizer;
         while ((line = in.readLine()) != null) {
@@ -66,7 +72,7 @@ public class ConvertTxtToTbl {
                 attrIndex++;
             }
             Tuple tuple = new Tuple(data);
-            outtbl.writeObject(tuple);
+            outtbl.next(tuple);
         }
         outtbl.close();
         in.close();
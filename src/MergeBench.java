@@ -0,0 +1,154 @@
+/*
+  microbenchmark of the k-way merge used by ExternalSort: merges k sorted
+  in-memory runs of random INT keys with a java.util.PriorityQueue and with
+  a LoserTree, for k = 16 .. 256, and prints the time and the number of key
+  comparisons per output tuple of both
+*/
+
+import qp.utils.*;
+
+import java.util.*;
+
+public class MergeBench {
+
+    private static final int[] FAN_IN = {16, 32, 64, 128, 256};
+
+    public static void main(String[] args) {
+        int numTuples = args.length > 0 ? Integer.parseInt(args[0]) : 2000000;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+        Attribute attribute = new Attribute("BENCH", "key");
+        attribute.setType(Attribute.INT);
+        ArrayList<Attribute> attrs = new ArrayList<>();
+        attrs.add(attribute);
+        Schema schema = new Schema(attrs);
+        ArrayList<Integer> attrsIndex = new ArrayList<>();
+        attrsIndex.add(0);
+        SortKey sortKey = new SortKey(schema, attrsIndex);
+
+        System.out.println("tuples=" + numTuples + " rounds=" + rounds + " (best time of the rounds)");
+        System.out.println("    k   heap ms  loser ms   heap cmp/tuple  loser cmp/tuple");
+        for (int k : FAN_IN) {
+            Tuple[][] runs = makeRuns(k, numTuples, new Random(k));
+            long[][] keys = new long[k][];
+            for (int i = 0; i < k; i++) {
+                keys[i] = new long[runs[i].length];
+                for (int j = 0; j < runs[i].length; j++) {
+                    keys[i][j] = sortKey.of(runs[i][j]);
+                }
+            }
+            long heapTime = Long.MAX_VALUE;
+            long loserTime = Long.MAX_VALUE;
+            for (int r = 0; r < rounds; r++) {
+                long start = System.nanoTime();
+                long heapSum = heapMerge(runs, keys, sortKey);
+                heapTime = Math.min(heapTime, System.nanoTime() - start);
+                start = System.nanoTime();
+                long loserSum = loserMerge(runs, keys, sortKey);
+                loserTime = Math.min(loserTime, System.nanoTime() - start);
+                if (heapSum != loserSum) {
+                    System.out.println("MergeBench: the merges do not give the same output");
+                    System.exit(1);
+                }
+            }
+            CountingKey counter = new CountingKey(schema, attrsIndex);
+            heapMerge(runs, keys, counter);
+            double heapCmp = (double) counter.count / numTuples;
+            counter.count = 0;
+            loserMerge(runs, keys, counter);
+            double loserCmp = (double) counter.count / numTuples;
+            System.out.printf("%5d %9.1f %9.1f %16.2f %16.2f%n", k, heapTime / 1e6, loserTime / 1e6, heapCmp, loserCmp);
+        }
+    }
+
+    /**
+     * k sorted runs of about numTuples / k tuples each
+     */
+    private static Tuple[][] makeRuns(int k, int numTuples, Random random) {
+        Tuple[][] runs = new Tuple[k][];
+        for (int i = 0; i < k; i++) {
+            int[] values = new int[numTuples / k + (i < numTuples % k ? 1 : 0)];
+            for (int j = 0; j < values.length; j++) {
+                values[j] = random.nextInt();
+            }
+            Arrays.sort(values);
+            runs[i] = new Tuple[values.length];
+            for (int j = 0; j < values.length; j++) {
+                ArrayList<Object> data = new ArrayList<>(1);
+                data.add(values[j]);
+                runs[i][j] = new Tuple(data);
+            }
+        }
+        return runs;
+    }
+
+    /**
+     * merge with a binary heap, one entry per run reused for its next tuple.
+     * Returns a checksum of the output order
+     */
+    private static long heapMerge(Tuple[][] runs, long[][] keys, SortKey sortKey) {
+        PriorityQueue<long[]> heap = new PriorityQueue<>(runs.length,
+                (e1, e2) -> sortKey.compare(e1[0], runs[(int) e1[1]][(int) e1[2]], e2[0], runs[(int) e2[1]][(int) e2[2]]));
+        for (int i = 0; i < runs.length; i++) {
+            if (runs[i].length > 0) {
+                heap.add(new long[]{keys[i][0], i, 0});
+            }
+        }
+        long checksum = 0;
+        while (!heap.isEmpty()) {
+            long[] entry = heap.poll();
+            checksum = checksum * 31 + entry[0];
+            int run = (int) entry[1];
+            int next = (int) entry[2] + 1;
+            if (next < runs[run].length) {
+                entry[0] = keys[run][next];
+                entry[2] = next;
+                heap.add(entry);
+            }
+        }
+        return checksum;
+    }
+
+    /**
+     * merge with a loser tree, returns a checksum of the output order
+     */
+    private static long loserMerge(Tuple[][] runs, long[][] keys, SortKey sortKey) {
+        LoserTree tree = new LoserTree(runs.length, sortKey);
+        int[] cursor = new int[runs.length];
+        for (int i = 0; i < runs.length; i++) {
+            if (runs[i].length > 0) {
+                tree.set(i, runs[i][0], keys[i][0]);
+            }
+        }
+        tree.build();
+        long checksum = 0;
+        int winner;
+        while ((winner = tree.winner()) >= 0) {
+            checksum = checksum * 31 + keys[winner][cursor[winner]];
+            int next = ++cursor[winner];
+            if (next < runs[winner].length) {
+                tree.replaceWinner(runs[winner][next], keys[winner][next]);
+            } else {
+                tree.replaceWinner(null, 0);
+            }
+        }
+        return checksum;
+    }
+
+    /**
+     * SortKey counting the comparisons made
+     */
+    private static class CountingKey extends SortKey {
+        long count = 0;
+
+        CountingKey(Schema schema, ArrayList<Integer> attrsIndex) {
+            super(schema, attrsIndex);
+        }
+
+        @Override
+        public int compare(long key1, Tuple t1, long key2, Tuple t2) {
+            count += 1;
+            return super.compare(key1, t1, key2, t2);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+/*
+  converts a <tablename>.tbl file written as a stream of serialized
+  Tuple objects (the old format) into the binary page format read
+  by Scan. the layout is derived from <tablename>.md
+*/
+
+import qp.utils.PageLayout;
+import qp.utils.Schema;
+import qp.utils.TableWriter;
+import qp.utils.Tuple;
+
+import java.io.*;
+
+public class MigrateTbl {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.out.println("usage: java MigrateTbl <tablename> ... \n rewrites <tablename>.tbl in the binary page format");
+            System.exit(1);
+        }
+        for (String tblname : args) {
+            migrate(tblname);
+        }
+    }
+
+    private static void migrate(String tblname) throws IOException {
+        String mdfile = tblname + ".md";
+        String tblfile = tblname + ".tbl";
+        String tmpfile = tblfile + ".tmp";
+
+        /** skip tables that are already migrated **/
+        DataInputStream check = new DataInputStream(new FileInputStream(tblfile));
+        int magic = check.readInt();
+        check.close();
+        if (magic == PageLayout.MAGIC) {
+            System.out.println(tblfile + " is already in the binary page format");
+            return;
+        }
+
+        Schema schema = null;
+        try {
+            ObjectInputStream ins = new ObjectInputStream(new FileInputStream(mdfile));
+            schema = (Schema) ins.readObject();
+            ins.close();
+        } catch (ClassNotFoundException ce) {
+            System.out.println("class not found exception --- error in schema object file");
+            System.exit(1);
+        }
+
+        ObjectInputStream in = new ObjectInputStream(new FileInputStream(tblfile));
+        TableWriter out = new TableWriter(tmpfile, schema);
+        if (!out.open()) {
+            System.exit(1);
+        }
+        try {
+            while (true) {
+                out.next((Tuple) in.readObject());
+            }
+        } catch (EOFException eof) {
+            // all the tuples are read
+        } catch (ClassNotFoundException ce) {
+            System.out.println("class not found exception --- error in table file " + tblfile);
+            System.exit(1);
+        }
+        in.close();
+        out.close();
+
+        File target = new File(tblfile);
+        if (!target.delete() || !new File(tmpfile).renameTo(target)) {
+            System.out.println("error in replacing " + tblfile);
+            System.exit(1);
+        }
+        System.out.println(tblfile + ": " + out.getNumTuple() + " tuples in " + out.getNumPage() + " pages");
+    }
+
+}
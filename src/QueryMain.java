@@ -85,12 +85,13 @@ public class QueryMain {
     }
 
     /**
-     * If there are joins then assigns buffers to each join operator while preparing the plan.
-     * As buffer manager is not implemented, just input the number of buffers available.
+     * If there are operators needing buffers, input the number of buffers available.
+     * The optimizer distributes them among the operators of the plan (see BufferManager).
      **/
     private static void configureBufferManager(SQLQuery sqlQuery, String[] args, BufferedReader in) {
         int numJoin = sqlQuery.getNumJoin();
-        if (numJoin != 0 || sqlQuery.isDistinct() || sqlQuery.isGroupby()) {
+        if (numJoin != 0 || sqlQuery.isDistinct() || sqlQuery.isGroupby()
+                || sqlQuery.isAggregate() || sqlQuery.isOrderby()) {
             int numBuff = 1000;
             if (args.length < 4) {
                 System.out.println("enter the number of buffers available");
@@ -137,6 +138,8 @@ public class QueryMain {
         }
 
         root = RandomOptimizer.makeExecPlan(planroot);
+        /** the plans explored by the optimizer do not carry the limit, it is set on the final plan **/
+        RandomOptimizer.pushDownLimit(root, sqlquery.getLimit(), sqlquery.getOffset());
 
         return root;
     }
@@ -2,25 +2,36 @@ package qp.operators;
 
 import qp.utils.Attribute;
 import qp.utils.Batch;
+import qp.utils.BufferPool;
 import qp.utils.Condition;
+import qp.utils.PageFile;
 import qp.utils.Tuple;
 
 import java.io.*;
 import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.HashMap;
 
 public class BlockNestedJoin extends Join {
 
-    static int filenum = 0;         // To get unique filenum for this operation
+    static final AtomicInteger filenum = new AtomicInteger();  // To get unique filenum for this operation
     int batchsize;                  // Number of tuples per out batch
     ArrayList<Integer> leftindex;   // Indices of the join attributes in left table
     ArrayList<Integer> rightindex;  // Indices of the join attributes in right table
     String rfname;                  // The file name where the right table is materialized
     Batch outbatch;                 // Buffer page for output
-    Batch[] leftbatches;                // Buffer pages for left input stream
+    HashMap<ArrayList<Object>, ArrayList<Tuple>> block;  // Left block hashed on the join attributes
     Batch rightbatch;               // Buffer page for right input stream
-    ObjectInputStream in;           // File pointer to the right hand materialized file
+    Tuple righttuple;               // Right tuple being joined with the block
+    ArrayList<Tuple> matches;       // Left tuples of the block matching righttuple
+    PageFile rightfile;             // The right hand materialized file, read through the BufferPool
+    int numrightpages;              // Number of pages of the materialized right input
+    int rightpagenum;               // Number of the next materialized page to read
+    int pinned;                     // Number of the materialized page pinned, -1 if none
+    boolean firstpass;              // Whether the right input is still read from the right operator
+    boolean rescan;                 // Whether the right input is rewound instead of materialized
 
-    int lcurs;                      // Cursor for left side buffer
+    int lcurs;                      // Cursor inside matches
     int rcurs;                      // Cursor for right side buffer
     boolean eosl;                   // Whether end of stream (left table) is reached
     boolean eosr;                   // Whether end of stream (right table) is reached
@@ -38,6 +49,8 @@ public class BlockNestedJoin extends Join {
      * * Opens the connections
      **/
     public boolean open() {
+        takeBuffers(numBuff);
+
         /** select number of tuples per batch **/
         int tuplesize = schema.getTupleSize();
         batchsize = Batch.getPageSize() / tuplesize;
@@ -51,42 +64,42 @@ public class BlockNestedJoin extends Join {
             leftindex.add(left.getSchema().indexOf(leftattr));
             rightindex.add(right.getSchema().indexOf(rightattr));
         }
-        Batch rightpage;
 
         /** initialize the cursors of input buffers **/
         lcurs = 0;
         rcurs = 0;
         eosl = false;
+        numOutput = 0;
         /** because right stream is to be repetitively scanned
          ** if it reached end, we have to start new scan
          **/
         eosr = true;
 
         /** Right hand side table is to be materialized
-         ** for the Nested join to perform
+         ** for the Nested join to perform, unless it can be scanned
+         ** again from the start (e.g. a base table). It is written out while
+         ** the first left block is joined with it, so nothing is read
+         ** before the consumer asks for it
          **/
         if (!right.open()) {
             return false;
-        } else {
-            /** If the right operator is not a base table then
-             ** Materialize the intermediate result from right
-             ** into a file
-             **/
-            filenum++;
-            rfname = "BNJtemp-" + filenum;
-            try {
-                ObjectOutputStream out = new ObjectOutputStream(new FileOutputStream(rfname));
-                while ((rightpage = right.next()) != null) {
-                    out.writeObject(rightpage);
-                }
-                out.close();
-            } catch (IOException io) {
+        }
+        rescan = right.isRescannable();
+        rightfile = null;
+        rfname = null;
+        if (!rescan) {
+            rfname = "BNJtemp-" + filenum.incrementAndGet();
+            rightfile = new PageFile(rfname);
+            if (!rightfile.create()) {
                 System.out.println("BlockNestedJoin: Error writing to temporary file");
                 return false;
             }
-            if (!right.close())
-                return false;
+            /** not left behind if the plan is never closed **/
+            new File(rfname).deleteOnExit();
         }
+        numrightpages = 0;
+        pinned = -1;
+        firstpass = true;
         if (left.open())
             return true;
         else
@@ -98,107 +111,156 @@ public class BlockNestedJoin extends Join {
      * * And returns a page of output tuples
      **/
     public Batch next() {
-        int i, j;
         if (eosl) {
             return null;
         }
-        outbatch = new Batch(batchsize);
+        outbatch = joinPage();
+        /** Enough tuples for the consumer, both inputs are abandoned **/
+        if (reachLimit(outbatch)) {
+            eosl = true;
+            close();
+        }
+        return outbatch;
+    }
+
+    /**
+     * Fills an output page with the joined tuples. The tuples of the left
+     * * block are hashed on the join attributes and each right tuple only
+     * * meets the left tuples of its own key
+     **/
+    private Batch joinPage() {
+        outbatch = Batch.create(schema, batchsize);
         while (!outbatch.isFull()) {
-            if (lcurs == 0 && eosr == true) {
-                leftbatches = new Batch[numBuff - 2];
-                leftbatches[0] = left.next();
-                if (leftbatches[0] == null) {
+            if (eosr == true) {
+                if (!readLeftBlock()) {
                     eosl = true;
                     return outbatch;
                 }
-
-                for (i = 1; i < leftbatches.length; i++) {
-                    leftbatches[i] = left.next();
-                    if (leftbatches[i] == null) {
-                        break;
-                    }
-                }
                 /** Whenever a new block of left page came, we have to start the
                  ** scanning of right table
                  **/
-                try {
-                    in = new ObjectInputStream(new FileInputStream(rfname));
-                    eosr = false;
-                } catch (IOException io) {
-                    System.err.println("BlockNestedJoin:error in reading the file");
-                    System.exit(1);
-                }
-            }
-            int leftTupleNum = leftbatches[0].size();
-            for (i = 1; i < leftbatches.length; i++) {
-                if (leftbatches[i] == null) {
-                    break;
+                if (!firstpass && rescan) {
+                    if (!right.rewind()) {
+                        System.err.println("BlockNestedJoin:error in rescanning the right input");
+                        System.exit(1);
+                    }
                 }
-                leftTupleNum += leftbatches[i].size();
+                rightpagenum = 0;
+                eosr = false;
+                rightbatch = null;
+                rcurs = 0;
+                matches = null;
             }
 
-            while (eosr == false) {
-                try {
-                    if (rcurs == 0 && lcurs == 0) {
-                        rightbatch = (Batch) in.readObject();
+            try {
+                while (!outbatch.isFull()) {
+                    if (matches != null && lcurs < matches.size()) {
+                        outbatch.addJoined(matches.get(lcurs), righttuple);
+                        lcurs++;
+                        continue;
                     }
-                    for (i = lcurs; i < leftTupleNum; ++i) {
-                        int leftBatchIndex = i / leftbatches[0].size();
-                        int leftTupleIndex = i % leftbatches[0].size();
-                        Tuple lefttuple = leftbatches[leftBatchIndex].get(leftTupleIndex);
-
-                        for (j = rcurs; j < rightbatch.size(); ++j) {
-
-                            Tuple righttuple = rightbatch.get(j);
-                            if (lefttuple.checkJoin(righttuple, leftindex, rightindex)) {
-                                Tuple outtuple = lefttuple.joinWith(righttuple);
-                                outbatch.add(outtuple);
-                                if (outbatch.isFull()) {
-                                    if (i == leftTupleNum - 1 && j == rightbatch.size() - 1) {  //case 1
-                                        lcurs = 0;
-                                        rcurs = 0;
-                                    } else if (i != leftTupleNum - 1 && j == rightbatch.size() - 1) {  //case 2
-                                        lcurs = i + 1;
-                                        rcurs = 0;
-                                    } else if (i == leftTupleNum - 1 && j != rightbatch.size() - 1) {  //case 3
-                                        lcurs = i;
-                                        rcurs = j + 1;
-                                    } else {
-                                        lcurs = i;
-                                        rcurs = j + 1;
-                                    }
-                                    return outbatch;
-                                }
-                            }
-                        }
+                    if (rightbatch == null || rcurs >= rightbatch.size()) {
+                        rightbatch = readRightPage();
                         rcurs = 0;
+                        continue;
                     }
+                    righttuple = rightbatch.get(rcurs);
+                    rcurs++;
+                    matches = block.get(getKey(righttuple, rightindex));
                     lcurs = 0;
-                } catch (EOFException e) {
-                    try {
-                        in.close();
-                    } catch (IOException io) {
-                        System.out.println("BlockNestedJoin: Error in reading temporary file");
-                    }
-                    eosr = true;
-                } catch (ClassNotFoundException c) {
-                    System.out.println("BlockNestedJoin: Error in deserialising temporary file ");
-                    System.exit(1);
-                } catch (IOException io) {
-                    System.out.println("BlockNestedJoin: Error in reading temporary file");
-                    System.exit(1);
                 }
+            } catch (EOFException e) {
+                unpinRightPage();
+                eosr = true;
+                matches = null;
             }
         }
         return outbatch;
     }
 
+    /**
+     * Reads the next numBuff - 2 pages of the left input into the hash
+     * * table of the block, false if the left input is exhausted
+     **/
+    private boolean readLeftBlock() {
+        block = new HashMap<>();
+        boolean empty = true;
+        for (int i = 0; i < numBuff - 2; i++) {
+            Batch leftpage = left.next();
+            if (leftpage == null) {
+                break;
+            }
+            for (int j = 0; j < leftpage.size(); j++) {
+                Tuple lefttuple = leftpage.get(j);
+                block.computeIfAbsent(getKey(lefttuple, leftindex), k -> new ArrayList<>()).add(lefttuple);
+            }
+            empty = false;
+        }
+        return !empty;
+    }
+
+    /**
+     * Next page of the right input. During the first pass it comes from the
+     * * right operator and is put into the BufferPool as a page of the
+     * * materialized file, afterwards it is pinned from the pool. A rescannable right input is always
+     * * read from the right operator and stays open until the join is closed
+     **/
+    private Batch readRightPage() throws EOFException {
+        if (!firstpass && !rescan) {
+            unpinRightPage();
+            if (rightpagenum >= numrightpages) {
+                throw new EOFException();
+            }
+            Batch rightpage = (Batch) BufferPool.getPool().pin(rfname, rightpagenum, rightfile);
+            if (rightpage == null) {
+                System.out.println("BlockNestedJoin: Error in reading temporary file");
+                System.exit(1);
+            }
+            pinned = rightpagenum;
+            rightpagenum++;
+            return rightpage;
+        }
+        Batch rightpage = right.next();
+        if (rightpage == null) {
+            firstpass = false;
+            if (!rescan) {
+                right.close();
+            }
+            throw new EOFException();
+        }
+        /** the page goes to the pool, it is only written to the file if it is evicted **/
+        if (!rescan) {
+            BufferPool.getPool().write(rfname, numrightpages, rightpage, rightfile);
+            numrightpages++;
+        }
+        return rightpage;
+    }
+
+    private void unpinRightPage() {
+        if (pinned >= 0) {
+            BufferPool.getPool().unpin(rfname, pinned, false);
+            pinned = -1;
+        }
+    }
+
     /**
      * Close the operator
+     * * the inputs may not be exhausted if the consumer stopped early
      */
     public boolean close() {
-        File f = new File(rfname);
-        f.delete();
+        releaseBuffers();
+        unpinRightPage();
+        block = null;
+        matches = null;
+        left.close();
+        right.close();
+        /** the pages are dropped before the file is closed, none is written back **/
+        if (rightfile != null) {
+            BufferPool.getPool().discard(rfname);
+            rightfile.close();
+            rightfile = null;
+            PageFile.delete(rfname);
+        }
         return true;
     }
 
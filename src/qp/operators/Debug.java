@@ -6,6 +6,8 @@ package qp.operators;
 
 import qp.utils.*;
 
+import java.util.ArrayList;
+
 public class Debug {
 
     /**
@@ -98,7 +100,11 @@ public class Debug {
             }
             PPrint(((Join) node).getLeft());
             System.out.print("  [");
-            PPrint(((Join) node).getCondition());
+            ArrayList<Condition> conditions = ((Join) node).getConditionList();
+            for (int i = 0; i < conditions.size(); ++i) {
+                if (i > 0) System.out.print(", ");
+                PPrint(conditions.get(i));
+            }
             System.out.print("]  ");
             PPrint(((Join) node).getRight());
             System.out.print(")");
@@ -107,7 +113,11 @@ public class Debug {
             System.out.print("Select(");
             PPrint(((Select) node).getBase());
             System.out.print("  '");
-            PPrint(((Select) node).getCondition());
+            ArrayList<Condition> conditions = ((Select) node).getConditionList();
+            for (int i = 0; i < conditions.size(); ++i) {
+                if (i > 0) System.out.print(", ");
+                PPrint(conditions.get(i));
+            }
             System.out.print(")");
 
         } else if (optype == OpType.PROJECT) {
@@ -118,13 +128,29 @@ public class Debug {
         } else if (optype == OpType.SCAN) {
             System.out.print(((Scan) node).getTabName());
         } else if (optype == OpType.DISTINCT) {
-            System.out.print("Distinct(");
+            if (((Distinct) node).getDistinctType() == Distinct.HASH) {
+                System.out.print("HashDistinct(");
+            } else {
+                System.out.print("Distinct(");
+            }
             PPrint(((Distinct) node).getBase());
             System.out.print(")");
         } else if (optype == OpType.GROUPBY) {
             System.out.print("GroupBy(");
             PPrint(((GroupBy) node).getBase());
             System.out.print(")");
+        } else if (optype == OpType.ORDERBY) {
+            if (((OrderBy) node).isTopN()) {
+                System.out.print("TopN(");
+            } else {
+                System.out.print("OrderBy(");
+            }
+            PPrint(((OrderBy) node).getBase());
+            System.out.print(")");
+        } else if (optype == OpType.EXCHANGE) {
+            System.out.print("Exchange(");
+            PPrint(((Exchange) node).getBase());
+            System.out.print(")");
         }
     }
 
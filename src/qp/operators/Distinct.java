@@ -6,21 +6,39 @@ import java.util.*;
 
 /**
  * Distinct Operator used to remove duplicates
+ * SORT: sorts the input on attrs with ExternalSort and drops adjacent duplicates,
+ * an input whose order already keeps equal tuples together is not sorted again.
+ * HASH: streams every tuple seen for the first time while the set of seen tuples
+ * fits into numBuff - 2 pages. Once the set is full and no free buffer can be borrowed
+ * (see MemoryBroker), tuples not in it are partitioned to disk and each partition is
+ * deduplicated separately afterwards.
+ * PlanCost picks the variant from the estimated number of distinct tuples.
  */
 public class Distinct extends Operator {
 
+    public static final int SORT = 0;
+    public static final int HASH = 1;
+
     private Operator base;
+    private int distinctType = SORT;
     private int batchSize; // number of tuples per page
     private int numBuff;
-    private final ArrayList attrs;
+    private final ArrayList<Attribute> attrs;
     private ArrayList<Integer> attrsIndex = new ArrayList<>();
-    private ExternalSort externalSort;
+    private Operator sortedInput; // ExternalSort of the input, or the input itself if it is grouped already
     private Batch inputBatch = null;
     private int currIndex = 0;
     private boolean eos = false;
     private Tuple prevTuple = null;
 
-    public Distinct(Operator base, ArrayList attrs) {
+    private int capacity; // the number of distinct tuples kept in memory (HASH)
+    private HashSet<ArrayList<Object>> seen = new HashSet<>(); // distinct tuples of the current input
+    private int depth = 0; // partitioning depth of the current input
+    private TupleReader reader = null; // partition being deduplicated, null while reading base
+    private TupleWriter[] spillWriters = null; // partitions of the tuples that did not fit
+    private final Partitions partitions = new Partitions("DStemp"); // partitions to be processed
+
+    public Distinct(Operator base, ArrayList<Attribute> attrs) {
         super(OpType.DISTINCT);
         this.base = base;
         this.attrs = attrs;
@@ -30,6 +48,10 @@ public class Distinct extends Operator {
         this.numBuff = numBuff;
     }
 
+    public int getNumBuff() {
+        return numBuff;
+    }
+
     public void setBase(Operator base) {
         this.base = base;
     }
@@ -38,29 +60,89 @@ public class Distinct extends Operator {
         return base;
     }
 
+    public ArrayList<Attribute> getDistinctList() {
+        return attrs;
+    }
+
+    public int getDistinctType() {
+        return distinctType;
+    }
+
+    public void setDistinctType(int distinctType) {
+        this.distinctType = distinctType;
+    }
+
+    /**
+     * Whether duplicates are already adjacent in the input, so that
+     * SORT only has to drop them
+     */
+    public boolean isPresorted() {
+        return isGroupedOn(base.getSortOrder(), attrs);
+    }
+
+    @Override
+    public ArrayList<Attribute> getSortOrder() {
+        if (distinctType == HASH) {
+            return new ArrayList<>();
+        }
+        if (isPresorted()) {
+            return base.getSortOrder();
+        }
+        return new ArrayList<>(attrs);
+    }
+
     @Override
     public boolean open() {
         batchSize = Batch.getPageSize() / schema.getTupleSize();
+        attrsIndex = new ArrayList<>();
         for (int i = 0; i < attrs.size(); i++) {
-            Attribute attribute = (Attribute) attrs.get(i);
+            Attribute attribute = attrs.get(i);
             attrsIndex.add(schema.indexOf(attribute));
         }
-        externalSort = new ExternalSort(base, attrs, numBuff);
-        return externalSort.open();
+        eos = false;
+        numOutput = 0;
+        if (distinctType == HASH) {
+            capacity = Math.max(1, (numBuff - 2) * batchSize);
+            takeBuffers(numBuff);
+            seen = new HashSet<>();
+            depth = 0;
+            reader = null;
+            inputBatch = null;
+            currIndex = 0;
+            return base.open();
+        }
+        inputBatch = null;
+        currIndex = 0;
+        prevTuple = null;
+        if (isPresorted()) {
+            sortedInput = base;
+        } else {
+            takeBuffers(numBuff);
+            sortedInput = new ExternalSort(base, attrs, numBuff);
+        }
+        return sortedInput.open();
     }
 
     @Override
     public Batch next() {
+        if (distinctType == HASH) {
+            return nextHashed();
+        }
         if (eos) {
             close();
             return null;
         } else if (inputBatch == null) {
-            inputBatch = externalSort.next();
+            inputBatch = sortedInput.next();
         }
 
         Batch outputBatch = new Batch(batchSize);
         while (!outputBatch.isFull()) {
-            if (inputBatch == null || currIndex >= inputBatch.size()) {
+            /** pages of a presorted input need not be full **/
+            while (inputBatch != null && currIndex >= inputBatch.size()) {
+                inputBatch = sortedInput.next();
+                currIndex = 0;
+            }
+            if (inputBatch == null) {
                 eos = true;
                 break;
             }
@@ -70,10 +152,10 @@ public class Distinct extends Operator {
                 prevTuple = current;
             }
             currIndex += 1;
-            if (currIndex == batchSize) {
-                inputBatch = externalSort.next();
-                currIndex = 0;
-            }
+        }
+        if (reachLimit(outputBatch)) {
+            eos = true;
+            close();
         }
         return outputBatch;
     }
@@ -88,9 +170,147 @@ public class Distinct extends Operator {
         return true;
     }
 
+    /**
+     * returns a page of tuples not seen before
+     */
+    private Batch nextHashed() {
+        if (eos) {
+            close();
+            return null;
+        }
+        Batch outputBatch = Batch.create(schema, batchSize);
+        while (!outputBatch.isFull()) {
+            Tuple current = nextInput();
+            if (current == null) {
+                if (!nextPartition()) {
+                    eos = true;
+                    break;
+                }
+                continue;
+            }
+            ArrayList<Object> key = getKey(current);
+            if (seen.contains(key)) {
+                continue;
+            }
+            /** beyond Partitions.MAX_DEPTH the partition is deduplicated in memory regardless of its size **/
+            if (seen.size() >= capacity && depth < Partitions.MAX_DEPTH && !growTable()) {
+                if (spillWriters == null) {
+                    spillWriters = partitions.createWriters(numHeld - 1, batchSize);
+                }
+                spillWriters[Partitions.partitionOf(key, depth, spillWriters.length)].next(current);
+                continue;
+            }
+            seen.add(key);
+            outputBatch.add(current);
+        }
+        if (outputBatch.isEmpty()) {
+            close();
+            return null;
+        }
+        /** Enough tuples for the consumer, the rest of the input is not deduplicated **/
+        if (reachLimit(outputBatch)) {
+            eos = true;
+            close();
+        }
+        return outputBatch;
+    }
+
+    /**
+     * Next tuple of the base operator or of the partition being deduplicated
+     */
+    private Tuple nextInput() {
+        if (reader != null) {
+            Tuple tuple = reader.next();
+            if (tuple == null) {
+                reader.close();
+            }
+            return tuple;
+        }
+        while (inputBatch == null || currIndex >= inputBatch.size()) {
+            inputBatch = base.next();
+            currIndex = 0;
+            if (inputBatch == null) {
+                base.close();
+                return null;
+            }
+        }
+        Tuple tuple = inputBatch.get(currIndex);
+        currIndex += 1;
+        return tuple;
+    }
+
+    /**
+     * Starts deduplicating the next partition on disk
+     *
+     * @return false if there is no more partition
+     */
+    private boolean nextPartition() {
+        registerPartitions(depth + 1);
+        seen = new HashSet<>();
+        if (partitions.isEmpty()) {
+            return false;
+        }
+        int[] partition = partitions.poll();
+        reader = new TupleReader(partitions.filesOf(partition[0])[0], batchSize);
+        if (!reader.open()) {
+            System.out.println("Distinct: Error in reading temporary file");
+            System.exit(1);
+        }
+        depth = partition[1];
+        return true;
+    }
+
+    /**
+     * Borrows a free buffer for one more page of the set of seen tuples. Once
+     * tuples of the current input are partitioned the set does not grow any more,
+     * a tuple let into it could have been partitioned before and come out twice
+     *
+     * @return false if the table cannot grow
+     */
+    private boolean growTable() {
+        if (spillWriters != null || borrowBuffers(1) == 0) {
+            return false;
+        }
+        capacity += batchSize;
+        return true;
+    }
+
+    private void registerPartitions(int depth) {
+        if (spillWriters == null) {
+            return;
+        }
+        partitions.register(depth, spillWriters);
+        spillWriters = null;
+    }
+
+    private ArrayList<Object> getKey(Tuple tuple) {
+        ArrayList<Object> key = new ArrayList<>(attrsIndex.size());
+        for (int index : attrsIndex) {
+            key.add(tuple.dataAt(index));
+        }
+        return key;
+    }
+
     @Override
     public boolean close() {
-        return externalSort.close();
+        releaseBuffers();
+        if (distinctType == SORT) {
+            return sortedInput.close();
+        }
+        if (reader != null) {
+            reader.close();
+            reader = null;
+        }
+        base.close();
+        if (spillWriters != null) {
+            for (TupleWriter writer : spillWriters) {
+                writer.close();
+            }
+            spillWriters = null;
+        }
+        partitions.clear();
+        seen = new HashSet<>();
+        return true;
     }
 
     @Override
@@ -98,11 +318,13 @@ public class Distinct extends Operator {
         Operator newBase = (Operator) base.clone();
         ArrayList<Attribute> newAttrs = new ArrayList<>();
         for (int i = 0; i < attrs.size(); i++) {
-            Attribute attribute = (Attribute) ((Attribute) attrs.get(i)).clone();
+            Attribute attribute = (Attribute) attrs.get(i).clone();
             newAttrs.add(attribute);
         }
         Distinct newDistinct = new Distinct(newBase, newAttrs);
+        newDistinct.setNumBuff(numBuff);
         newDistinct.setSchema(newBase.getSchema());
+        newDistinct.setDistinctType(distinctType);
         return newDistinct;
     }
 }
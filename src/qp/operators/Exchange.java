@@ -0,0 +1,214 @@
+/**
+ * Runs a subtree of the plan on a thread of its own
+ **/
+
+package qp.operators;
+
+import qp.utils.Attribute;
+import qp.utils.Batch;
+
+import java.util.ArrayList;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Exchange operator - the base operator is opened on the consumer's thread,
+ * then read on a producer thread and its pages are handed over through a bounded queue, so the
+ * subtree works ahead of the consumer by up to CAPACITY pages, e.g. a scan
+ * reads its next pages while the join above it works on the current one.
+ * For the consumer it behaves like the base operator itself: same schema,
+ * sort order and row budget, and open/next/close keep their meaning.
+ * The subtree is only used by the producer thread until the producer has
+ * stopped, it is closed or rewound on the consumer's thread afterwards.
+ * Exchanges are off by default and turned on with setEnabled.
+ */
+public class Exchange extends Operator {
+
+    static final int CAPACITY = 2;       // Number of pages waiting in the queue at most
+    static boolean enabled = false;      // Whether the optimizer inserts exchanges
+    private static final Batch END = new Batch(0);  // Marks the end of the output of the base operator
+    private static final AtomicInteger threadnum = new AtomicInteger();  // To name the producer threads
+
+    Operator base;                       // Base operator, run by the producer thread
+    ArrayBlockingQueue<Batch> queue;     // Pages produced but not yet consumed
+    Thread producer;                     // Thread running the base operator
+    volatile boolean stopped;            // Whether the consumer does not want more pages
+    RuntimeException error;              // Exception thrown by the base operator
+    boolean eos;                         // Whether end of stream is reached
+
+    public Exchange(Operator base) {
+        super(OpType.EXCHANGE);
+        this.base = base;
+        schema = base.getSchema();
+        limit = base.getLimit();
+        offset = base.getOffset();
+    }
+
+    public Operator getBase() {
+        return base;
+    }
+
+    public void setBase(Operator base) {
+        this.base = base;
+    }
+
+    /** Enable or disable the exchanges inserted by the optimizer **/
+    public static void setEnabled(boolean flag) {
+        enabled = flag;
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * The row budget is the one of the base operator, which stops by itself
+     **/
+    @Override
+    public void setLimit(int limit) {
+        super.setLimit(limit);
+        base.setLimit(limit);
+    }
+
+    @Override
+    public void setOffset(int offset) {
+        super.setOffset(offset);
+        base.setOffset(offset);
+    }
+
+    @Override
+    public ArrayList<Attribute> getSortOrder() {
+        return base.getSortOrder();
+    }
+
+    /**
+     * The base operator is opened here so that a failure is reported to the
+     * * consumer right away, the producer thread only reads it
+     **/
+    public boolean open() {
+        eos = false;
+        if (!base.open()) {
+            return false;
+        }
+        start();
+        return true;
+    }
+
+    /**
+     * Starts the producer thread on the opened base operator
+     **/
+    private void start() {
+        queue = new ArrayBlockingQueue<>(CAPACITY);
+        stopped = false;
+        error = null;
+        producer = new Thread(this::produce, "exchange-" + threadnum.incrementAndGet());
+        producer.setDaemon(true);
+        producer.start();
+    }
+
+    /**
+     * Body of the producer thread
+     **/
+    private void produce() {
+        try {
+            Batch page;
+            while (!stopped && (page = base.next()) != null) {
+                queue.put(page);
+            }
+        } catch (InterruptedException e) {
+            stopped = true;
+        } catch (RuntimeException e) {
+            error = e;
+        } finally {
+            /** the queue hands the end marker over after error is set **/
+            try {
+                queue.put(END);
+            } catch (InterruptedException e) {
+                stopped = true;
+            }
+        }
+    }
+
+    /**
+     * Tells the producer to stop and waits for it. The queue is emptied
+     * * meanwhile so that the producer is not blocked on a full queue
+     **/
+    private void stop() {
+        stopped = true;
+        while (producer.isAlive()) {
+            queue.clear();
+            try {
+                producer.join(10);
+            } catch (InterruptedException e) {
+                System.out.println("Exchange: interrupted while stopping " + producer.getName());
+                System.exit(1);
+            }
+        }
+        producer = null;
+        queue.clear();
+    }
+
+    /**
+     * Next page of the base operator, waits for the producer if the queue is empty
+     **/
+    public Batch next() {
+        if (eos) {
+            return null;
+        }
+        Batch page;
+        try {
+            page = queue.take();
+        } catch (InterruptedException e) {
+            System.out.println("Exchange: interrupted while waiting for " + producer.getName());
+            System.exit(1);
+            return null;
+        }
+        if (page != END) {
+            return page;
+        }
+        eos = true;
+        if (error != null) {
+            throw error;
+        }
+        return null;
+    }
+
+    /**
+     * A rescannable base operator is rewound once the producer has stopped,
+     * * and a new producer reads it again
+     **/
+    @Override
+    public boolean isRescannable() {
+        return base.isRescannable();
+    }
+
+    @Override
+    public boolean rewind() {
+        if (producer != null) {
+            stop();
+        }
+        if (!base.rewind()) {
+            return false;
+        }
+        eos = false;
+        start();
+        return true;
+    }
+
+    /**
+     * Stops the producer, the consumer may not have read all the pages
+     **/
+    public boolean close() {
+        if (producer != null) {
+            stop();
+        }
+        return base.close();
+    }
+
+    public Object clone() {
+        Exchange newexchange = new Exchange((Operator) base.clone());
+        newexchange.setSchema(schema);
+        return newexchange;
+    }
+
+}
@@ -2,32 +2,78 @@ package qp.operators;
 
 import qp.utils.*;
 
-import java.io.*;
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
 /**
  * External Sort Algorithm
+ * Sorted runs are generated with replacement selection: numBuff - 2 pages of tuples are
+ * kept in a heap and the smallest one that can still extend the current run is written
+ * out and replaced by the next input tuple. On random input a run is about twice as long
+ * as the memory, an input that is already (nearly) sorted gives a single run.
+ * Runs are written a page (Batch) at a time and read through the BufferPool. While
+ * merging, one spare page is used to read ahead the page of the input run that will run
+ * out first (forecasting), so the runs are merged numBuff - 2 at a time with read-ahead,
+ * or numBuff - 1 at a time without it when there are only 3 buffers.
+ * A sort may run in parallel once setParallelism allows more than one thread: the input
+ * pages are dealt out to workers that each run replacement selection with their share of
+ * the buffers, which gives more and shorter runs (see getHeapPages). The merges of a pass
+ * run concurrently, each with its share of the buffers, only if that does not add a pass.
+ * Every tuple is sorted and merged together with its normalized key (SortKey), most
+ * comparisons are decided on the keys without looking at the attributes. The runs are
+ * merged with a loser tree (LoserTree), log2 of the fan-in comparisons per output tuple.
  */
 public class ExternalSort extends Operator {
 
+    /** reads the forecast pages in the background, shared by all sorts **/
+    private static final ExecutorService readAheadPool = Executors.newCachedThreadPool(r -> {
+        Thread thread = new Thread(r, "sort-read-ahead");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static int parallelism = 1; // most threads used by a sort, 1 sorts sequentially
+
     private final int numBuff;
     private final Operator base;
     private final int batchSize; // the number of tuple each page
     private final String sortID = UUID.randomUUID().toString();//differentiate multiple instances
-    private final ArrayList<Integer> attrsIndex = new ArrayList<>(); // the attributes used for sorting
-    private ObjectInputStream sortResult; // the input stream of sorting result
+    private final ArrayList<Attribute> sortOrder = new ArrayList<>(); // the attributes used for sorting
+    private final ArrayList<Integer> attrsIndex = new ArrayList<>(); // their indices in the schema
+    private final SortKey sortKey; // normalized key of the sort attributes
+    private RunReader sortResult; // the reader of the sorting result
+    private String resultFile = null; // the file of the final sorted run, deleted on close
     private boolean eosResult = false; // Whether end of stream of sortResult is reached
+    private Batch inputBatch; // page of the base operator being consumed during run generation
+    private int inputCursor; // cursor in inputBatch
+
+    /** Set the number of threads a sort may use, 1 (the default) to sort sequentially **/
+    public static void setParallelism(int threads) {
+        parallelism = Math.max(1, threads);
+    }
 
-    public ExternalSort(Operator base, ArrayList attrs, int numBuff) {
+    public static int getParallelism() {
+        return parallelism;
+    }
+
+    public ExternalSort(Operator base, ArrayList<Attribute> attrs, int numBuff) {
         super(OpType.SORT);
         this.numBuff = numBuff;
         this.base = base;
         this.schema = base.schema;
         this.batchSize = Batch.getPageSize() / schema.getTupleSize();
         for (int i = 0; i < attrs.size(); i++) {
-            Attribute attribute = (Attribute) attrs.get(i);
+            Attribute attribute = attrs.get(i);
+            sortOrder.add(attribute);
             attrsIndex.add(schema.indexOf(attribute));
         }
+        this.sortKey = new SortKey(schema, attrsIndex);
+    }
+
+    @Override
+    public ArrayList<Attribute> getSortOrder() {
+        return new ArrayList<>(sortOrder);
     }
 
     @Override
@@ -35,7 +81,18 @@ public class ExternalSort extends Operator {
         if (!base.open()) {
             return false;
         }
-        int numOfSortedRuns = createSortedRuns(); // first phase: create sorted runs
+        int workers = getRunWorkers(numBuff);
+        int numOfSortedRuns; // first phase: create sorted runs
+        if (workers > 1) {
+            numOfSortedRuns = createSortedRuns(workers);
+        } else {
+            numOfSortedRuns = createSortedRuns();
+        }
+        base.close();
+        if (numOfSortedRuns == 0) { // empty input, nothing to merge
+            eosResult = true;
+            return true;
+        }
         int resultNum =
                 mergeSortedRuns(1, numOfSortedRuns); // second phase: merge multiple sorted runs into one
         if (resultNum == 1) {
@@ -44,37 +101,199 @@ public class ExternalSort extends Operator {
     }
 
     /**
-     * create sorted runs and store them into disk.
+     * Number of workers generating sorted runs, each one needs a heap of
+     * at least 3 pages besides its input page and its output page
+     */
+    public static int getRunWorkers(int numBuff) {
+        return Math.max(1, Math.min(parallelism, numBuff / 5));
+    }
+
+    /**
+     * Pages in the replacement selection heap of each worker generating
+     * sorted runs, its share of the buffers also holds an input page and
+     * an output page. The runs are about twice as long on random input.
+     */
+    public static int getHeapPages(int numBuff) {
+        return Math.max(1, numBuff / getRunWorkers(numBuff) - 2);
+    }
+
+    /**
+     * create sorted runs with replacement selection and store them into disk.
      */
     private int createSortedRuns() {
-        int numOfRuns = 0;
-        Batch inputBatch = base.next();
-        while (inputBatch != null) {
-            ArrayList<Tuple> tuples = new ArrayList<>(); // all the tuples for this particular run.
-
-            for (int i = 0; i < numBuff && inputBatch != null; i++) {
-                tuples.addAll(inputBatch.getAll());
-                if (i != numBuff - 1) { // if reach the last page, then don't read next
-                    inputBatch = base.next();
+        AtomicInteger numOfRuns = new AtomicInteger();
+        inputBatch = base.next();
+        inputCursor = 0;
+        generateRuns(this::nextInput, numOfRuns);
+        inputBatch = null;
+        return numOfRuns.get();
+    }
+
+    /**
+     * create sorted runs on a pool of workers. The pages of the input are dealt
+     * out to the workers in turn, every worker generates runs from its pages
+     * with its own heap and takes a page only once it is done with the last one.
+     */
+    private int createSortedRuns(int workers) {
+        AtomicInteger numOfRuns = new AtomicInteger();
+        ExecutorService pool = newPool(workers, "sort-run");
+        RunInput[] inputs = new RunInput[workers];
+        ArrayList<Future<?>> generators = new ArrayList<>();
+        for (int i = 0; i < workers; i++) {
+            RunInput input = new RunInput();
+            inputs[i] = input;
+            generators.add(pool.submit(() -> generateRuns(input, numOfRuns)));
+        }
+        try {
+            int turn = 0;
+            Batch page;
+            while ((page = base.next()) != null) {
+                if (page.isEmpty()) {
+                    continue;
+                }
+                inputs[turn].put(page, generators.get(turn));
+                turn = (turn + 1) % workers;
+            }
+            for (int i = 0; i < workers; i++) {
+                inputs[i].put(RunInput.END, generators.get(i));
+            }
+            for (Future<?> generator : generators) {
+                generator.get();
+            }
+        } catch (InterruptedException | ExecutionException e) {
+            System.out.printf("sort: cannot write sorted runs%n");
+            System.exit(1);
+        } finally {
+            pool.shutdown();
+        }
+        return numOfRuns.get();
+    }
+
+    /**
+     * Replacement selection over the tuples of the input, with a heap of
+     * getHeapPages pages. The heap is ordered by run number first, a tuple
+     * smaller than the last one written cannot extend the current run and
+     * is kept for the next run. Each run written takes the next number of
+     * numOfRuns, which is shared by the workers of a parallel sort.
+     * The heap holds plain copies of the tuples, a row view of a page
+     * would keep its whole page in memory.
+     */
+    private void generateRuns(Supplier<Tuple> input, AtomicInteger numOfRuns) {
+        int capacity = Math.max(1, getHeapPages(numBuff) * batchSize);
+        PriorityQueue<RunEntry> heap = new PriorityQueue<>(capacity, this::compareEntries);
+        Tuple tuple;
+        while (heap.size() < capacity && (tuple = input.get()) != null) {
+            heap.add(new RunEntry(new Tuple(tuple.data()), sortKey.of(tuple), 0));
+        }
+
+        int run = 0; // number of runs started from this heap
+        TupleWriter writer = null;
+        while (!heap.isEmpty()) {
+            RunEntry entry = heap.poll(); // smallest tuple of the current run
+            if (entry.run == run) { // the current run is finished, start the next one
+                if (writer != null) {
+                    writer.close();
+                }
+                writer = new TupleWriter(generateFileName(0, numOfRuns.getAndIncrement()), batchSize);
+                if (!writer.open()) {
+                    System.out.printf("sort: cannot write sorted runs%n");
+                    System.exit(1);
                 }
+                run += 1;
             }
-            tuples.sort(this::compareTuples); // sort all tuples with in-memory sorting
-            try {
-                ObjectOutputStream stream =
-                        new ObjectOutputStream(new FileOutputStream(generateFileName(0, numOfRuns)));
-                for (Tuple tuple : tuples) {
-                    stream.writeObject(tuple);
+            writer.next(entry.tuple);
+            Tuple next = input.get();
+            if (next != null) {
+                /** the entry is reused for the tuple replacing the one written **/
+                long key = sortKey.of(next);
+                if (sortKey.compare(key, next, entry.key, entry.tuple) < 0) {
+                    entry.run += 1;
                 }
-                stream.close();
-            } catch (IOException e) {
-                System.out.printf("sort: cannot write sorted runs");
-                System.exit(1);
+                entry.tuple = new Tuple(next.data());
+                entry.key = key;
+                heap.add(entry);
             }
+        }
+        if (writer != null) {
+            writer.close();
+        }
+    }
+
+    private static ExecutorService newPool(int threads, String name) {
+        return Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, name);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
 
+    /**
+     * Next tuple of the base operator during run generation, null at the end of the input
+     */
+    private Tuple nextInput() {
+        while (inputBatch != null && inputCursor >= inputBatch.size()) {
             inputBatch = base.next();
-            numOfRuns += 1;
+            inputCursor = 0;
         }
-        return numOfRuns;
+        if (inputBatch == null) {
+            return null;
+        }
+        Tuple tuple = inputBatch.get(inputCursor);
+        inputCursor += 1;
+        return tuple;
+    }
+
+    private int compareEntries(RunEntry e1, RunEntry e2) {
+        if (e1.run != e2.run) {
+            return Integer.compare(e1.run, e2.run);
+        }
+        return compareKeys(e1, e2);
+    }
+
+    private int compareKeys(RunEntry e1, RunEntry e2) {
+        return sortKey.compare(e1.key, e1.tuple, e2.key, e2.tuple);
+    }
+
+    /**
+     * Number of runs merged at a time: numBuff - 2 input pages, one page
+     * for read-ahead and one output page, or numBuff - 1 inputs and no
+     * read-ahead if there are only 3 buffers
+     */
+    public static int getMergeFanIn(int numBuff) {
+        if (numBuff >= 4) {
+            return numBuff - 2;
+        }
+        return Math.max(2, numBuff - 1);
+    }
+
+    /**
+     * Number of passes merging the given number of runs fanIn at a time
+     */
+    public static int getMergePasses(int numOfRuns, int fanIn) {
+        int passes = 0;
+        while (numOfRuns > 1) {
+            numOfRuns = (numOfRuns + fanIn - 1) / fanIn;
+            passes += 1;
+        }
+        return passes;
+    }
+
+    /**
+     * Number of merges of a pass run at the same time, each one with numBuff / workers
+     * buffers and so a smaller fan-in. A pass is only split if more than one merge
+     * results and the remaining passes are not more than with a single merge at a time.
+     */
+    private static int getMergeWorkers(int numBuff, int numOfRuns) {
+        int fanIn = getMergeFanIn(numBuff);
+        int passes = getMergePasses(numOfRuns, fanIn);
+        for (int workers = Math.min(parallelism, numBuff / 3); workers > 1; workers--) {
+            int share = getMergeFanIn(numBuff / workers);
+            int merges = (numOfRuns + share - 1) / share;
+            if (merges > 1 && 1 + getMergePasses(merges, fanIn) <= passes) {
+                return workers;
+            }
+        }
+        return 1;
     }
 
     /**
@@ -82,103 +301,123 @@ public class ExternalSort extends Operator {
      */
     private int mergeSortedRuns(int passNum, int numOfRuns) {
         if (numOfRuns <= 1) { // only one run left, merge complete already
-            try {
-                sortResult =
-                        new ObjectInputStream(
-                                new FileInputStream(generateFileName(passNum - 1, numOfRuns - 1)));
-            } catch (IOException e) {
-                System.out.printf("sort: cannot create sortResult stream");
-            }
+            resultFile = generateFileName(passNum - 1, numOfRuns - 1);
+            sortResult = new RunReader(resultFile);
             return numOfRuns;
         }
 
+        int fanIn = getMergeFanIn(numBuff);
+        /** the merges of a pass are independent, with several of them each gets a share of the buffers **/
+        int workers = getMergeWorkers(numBuff, numOfRuns);
+        if (workers > 1) {
+            return mergeSortedRuns(passNum, numOfRuns, workers);
+        }
         int outputCounter = 0;
-        //numBuff - 1 for input, 1 for output
-        for (int start = 0; start < numOfRuns; start += numBuff - 1) {
-            int end = Math.min(start + numBuff - 1, numOfRuns);
-            try {
-                mergeSubgroups(start, end, outputCounter, passNum);
-            } catch (ClassNotFoundException e) {
-                System.out.printf("sort: class not found");
-                System.exit(1);
-            } catch (IOException e) {
-                System.out.printf("sort: cannot merge runs");
-                System.exit(1);
-            }
+        for (int start = 0; start < numOfRuns; start += fanIn) {
+            int end = Math.min(start + fanIn, numOfRuns);
+            mergeSubgroups(start, end, outputCounter, passNum, numBuff);
             outputCounter += 1;
         }
         return mergeSortedRuns(passNum + 1, outputCounter);
     }
 
     /**
-     * Merge all the sorted runs from start to end
+     * Merges the runs of a pass with several merges running at the same time,
+     * each one using numBuff / workers buffers
      */
-    private void mergeSubgroups(int start, int end, int outNum, int passNum)
-            throws ClassNotFoundException, IOException {
-        Batch[] inputBatches = new Batch[end - start];
-        ObjectInputStream[] inStreams =
-                new ObjectInputStream[end - start]; // input streams for each input sorted runs
-        boolean[] inputeos = new boolean[end - start];
-        for (int i = start; i < end; i++) {
-            ObjectInputStream inStream =
-                    new ObjectInputStream(new FileInputStream(generateFileName(passNum - 1, i)));
-            inStreams[i - start] = inStream;
-            Batch inputBatch = new Batch(batchSize);
-            while (!inputBatch.isFull()) {
-                try {
-                    Tuple data = (Tuple) inStream.readObject();
-                    inputBatch.add(data);
-                } catch (EOFException eof) {
-                    break;
-                }
+    private int mergeSortedRuns(int passNum, int numOfRuns, int workers) {
+        int buffers = numBuff / workers;
+        int fanIn = getMergeFanIn(buffers);
+        ExecutorService pool = newPool(Math.min(workers, (numOfRuns + fanIn - 1) / fanIn), "sort-merge");
+        ArrayList<Future<?>> merges = new ArrayList<>();
+        int outputCounter = 0;
+        for (int start = 0; start < numOfRuns; start += fanIn) {
+            int begin = start;
+            int end = Math.min(start + fanIn, numOfRuns);
+            int outNum = outputCounter;
+            merges.add(pool.submit(() -> mergeSubgroups(begin, end, outNum, passNum, buffers)));
+            outputCounter += 1;
+        }
+        try {
+            for (Future<?> merge : merges) {
+                merge.get();
             }
-            inputBatches[i - start] = inputBatch;
+        } catch (InterruptedException | ExecutionException e) {
+            System.out.printf("sort: cannot merge runs%n");
+            System.exit(1);
+        } finally {
+            pool.shutdown();
         }
+        return mergeSortedRuns(passNum + 1, outputCounter);
+    }
 
-        PriorityQueue<TupleForSort> resultPriorityQueue =
-                new PriorityQueue<>(batchSize, (o1, o2) -> compareTuples(o1.tuple, o2.tuple));
-        ObjectOutputStream outStream =
-                new ObjectOutputStream(new FileOutputStream(generateFileName(passNum, outNum)));
-        for (int i = 0; i < end - start; i++) {
-            Batch inputBatch = inputBatches[i];
-            if (inputBatch == null || inputBatch.isEmpty()) {
-                inputeos[i] = true;
+    /**
+     * Merge all the sorted runs from start to end with the given number of buffers
+     */
+    private void mergeSubgroups(int start, int end, int outNum, int passNum, int buffers) {
+        RunReader[] readers = new RunReader[end - start]; // one input page for each sorted run
+        boolean forecasting = buffers >= 4;
+        LoserTree loserTree = new LoserTree(end - start, sortKey); // picks the smallest head of the runs
+        for (int i = start; i < end; i++) {
+            readers[i - start] = new RunReader(generateFileName(passNum - 1, i));
+            Tuple current = readers[i - start].next();
+            loserTree.set(i - start, current, current == null ? 0 : sortKey.of(current));
+        }
+        loserTree.build();
+        if (forecasting) {
+            forecast(readers);
+        }
+
+        TupleWriter outWriter = new TupleWriter(generateFileName(passNum, outNum), batchSize);
+        if (!outWriter.open()) {
+            System.out.printf("sort: cannot merge runs%n");
+            System.exit(1);
+        }
+        int winner;
+        while ((winner = loserTree.winner()) >= 0) {
+            outWriter.next(loserTree.winnerTuple()); // the smallest tuple of all the runs
+            RunReader reader = readers[winner];
+            Tuple nextTuple = reader.next();
+            if (nextTuple == null) {
+                loserTree.replaceWinner(null, 0);
                 continue;
             }
-            Tuple current = inputBatch.get(0);
-            resultPriorityQueue.add(new TupleForSort(current, i, 0));
-        }
-
-        while (!resultPriorityQueue.isEmpty()) {
-            TupleForSort outTuple = resultPriorityQueue.poll();//get the smallest element
-            outStream.writeObject(outTuple.tuple);
-            int nextTupleNum = outTuple.tupleNum + 1;
-            int nextBatchNum = outTuple.sortedRunNum;
-            if (nextTupleNum == batchSize) {//need to read next page from input buffer
-                Batch inputBatch = new Batch(batchSize);
-                while (!inputBatch.isFull()) {
-                    try {
-                        Tuple data = (Tuple) inStreams[nextBatchNum].readObject();
-                        inputBatch.add(data);
-                    } catch (EOFException eof) {
-                        break;
-                    }
-                }
-                inputBatches[nextBatchNum] = inputBatch;
-                nextTupleNum = 0;
+            if (forecasting && reader.isNewPage()) {
+                forecast(readers);
             }
-            Batch inputBatch = inputBatches[nextBatchNum];
-            if (inputBatch == null || nextTupleNum >= inputBatch.size()) {
-                inputeos[nextBatchNum] = true;
+            loserTree.replaceWinner(nextTuple, sortKey.of(nextTuple));
+        }
+        outWriter.close();
+        for (RunReader reader : readers) {
+            reader.close();
+        }
+        /** the merged runs are not needed any more **/
+        for (int i = start; i < end; i++) {
+            PageFile.delete(generateFileName(passNum - 1, i));
+        }
+    }
+
+    /**
+     * Starts reading ahead the next page of the run whose current page ends with
+     * the smallest tuple, it is the first one to be used up. Only one page is
+     * read ahead at a time.
+     */
+    private void forecast(RunReader[] readers) {
+        RunReader first = null;
+        for (RunReader reader : readers) {
+            if (reader.isReadingAhead()) {
+                return;
+            }
+            if (reader.isEOF()) {
                 continue;
             }
-            Tuple nextTuple = inputBatch.get(nextTupleNum);
-            resultPriorityQueue.add(new TupleForSort(nextTuple, nextBatchNum, nextTupleNum));
+            if (first == null || compareTuples(reader.lastOfPage(), first.lastOfPage()) < 0) {
+                first = reader;
+            }
         }
-        for (ObjectInputStream inStream : inStreams) {
-            inStream.close();
+        if (first != null) {
+            first.readAhead();
         }
-        outStream.close();
     }
 
     /**
@@ -187,38 +426,47 @@ public class ExternalSort extends Operator {
     @Override
     public Batch next() {
         if (eosResult) {
-            close();
             return null;
         }
-
-        Batch outputBatch = new Batch(batchSize);
-        while (!outputBatch.isFull()) {
-            try {
-                Tuple data = (Tuple) sortResult.readObject();
-                outputBatch.add(data);
-            } catch (EOFException EOF) {
-                eosResult = true;
-                return outputBatch;
-            } catch (IOException e) {
-                System.out.printf("sort: error reading from sortResult");
-                System.exit(1);
-            } catch (ClassNotFoundException cnf) {
-                System.out.printf("sort: class not found");
-                System.exit(1);
-            }
+        /** the result run was written a page at a time, pages are returned as they are read **/
+        Batch outputBatch = sortResult.takePage();
+        if (outputBatch == null) {
+            /** the result file is kept until close so that it can be read again **/
+            eosResult = true;
+            sortResult.close();
         }
         return outputBatch;
     }
 
+    /**
+     * The sorted result is on disk, it is read again from the start
+     */
+    @Override
+    public boolean isRescannable() {
+        return true;
+    }
+
+    @Override
+    public boolean rewind() {
+        if (resultFile == null) { // empty input
+            eosResult = true;
+            return true;
+        }
+        sortResult.close();
+        sortResult = new RunReader(resultFile);
+        eosResult = false;
+        return true;
+    }
+
     @Override
     public boolean close() {
         super.close();
-        try {
-            sortResult.close();
-        } catch (IOException e) {
-            System.out.printf("Sort: cannot close sortResult");
-            return false;
+        if (sortResult == null) {
+            return true;
         }
+        sortResult.close();
+        /** the result may not have been read to the end if the consumer stopped early **/
+        PageFile.delete(resultFile);
         return true;
     }
 
@@ -237,4 +485,186 @@ public class ExternalSort extends Operator {
         }
         return 0;
     }
+
+    /**
+     * A tuple with its normalized key and the run it belongs to during run generation
+     */
+    private static class RunEntry {
+        Tuple tuple;
+        long key;
+        int run;
+
+        RunEntry(Tuple tuple, long key, int run) {
+            this.tuple = tuple;
+            this.key = key;
+            this.run = run;
+        }
+    }
+
+    /**
+     * The pages of the input dealt out to one worker during parallel run
+     * generation. The worker takes a page once it has used up the last one,
+     * until then the reader of the input waits to hand it over.
+     */
+    private static class RunInput implements Supplier<Tuple> {
+        static final Batch END = new Batch(0); // handed over after the last page of the input
+        private final SynchronousQueue<Batch> pages = new SynchronousQueue<>();
+        private Batch page = null; // page being consumed
+        private int cursor = 0; // cursor in page
+
+        /**
+         * Hands a page to the worker, or gives up with the failure of the worker
+         */
+        void put(Batch next, Future<?> worker) throws InterruptedException, ExecutionException {
+            while (!pages.offer(next, 100, TimeUnit.MILLISECONDS)) {
+                if (worker.isDone()) {
+                    worker.get();
+                    throw new ExecutionException("sort worker stopped before the end of its input", null);
+                }
+            }
+        }
+
+        @Override
+        public Tuple get() {
+            while (page != END && (page == null || cursor >= page.size())) {
+                try {
+                    page = pages.take();
+                } catch (InterruptedException e) {
+                    System.out.printf("sort: cannot write sorted runs%n");
+                    System.exit(1);
+                }
+                cursor = 0;
+            }
+            if (page == END) {
+                return null;
+            }
+            Tuple tuple = page.get(cursor);
+            cursor += 1;
+            return tuple;
+        }
+    }
+
+    /**
+     * Reads a sorted run page by page through the buffer pool, the current
+     * page is pinned. The next page can be read in the background while the
+     * tuples of the current one are being merged.
+     */
+    private static class RunReader {
+        private final String filename;
+        private PageFile in;
+        private int pageNum = 0; // number of the current page, the next one is read after it
+        private Batch page; // current page
+        private int cursor = 0; // cursor in page
+        private boolean newPage = false; // whether the last tuple returned was the first of a page
+        private boolean eof = false; // whether there is no more page in the file
+        private Future<Batch> pending = null; // page being read ahead
+
+        RunReader(String filename) {
+            this.filename = filename;
+            in = new PageFile(filename);
+            if (!in.open()) {
+                System.out.printf("sort: cannot read sorted run %s%n", filename);
+                System.exit(1);
+            }
+            page = readPage(0);
+        }
+
+        /**
+         * Pins a page of the file, null at the end of the file
+         */
+        private Batch readPage(int num) {
+            return (Batch) BufferPool.getPool().pin(filename, num, in);
+        }
+
+        /**
+         * Moves to the next page, waiting for the one read ahead if there is one
+         */
+        private Batch nextPage() {
+            Batch next;
+            if (pending != null) {
+                try {
+                    next = pending.get();
+                } catch (InterruptedException | ExecutionException e) {
+                    System.out.printf("sort: cannot read sorted run %s%n", filename);
+                    System.exit(1);
+                    return null;
+                }
+                pending = null;
+            } else if (eof) {
+                next = null;
+            } else {
+                next = readPage(pageNum + 1);
+            }
+            if (next == null) {
+                eof = true;
+            }
+            /** the current page is not used by the reader any more **/
+            BufferPool.getPool().unpin(filename, pageNum, false);
+            pageNum += 1;
+            page = null;
+            cursor = 0;
+            return next;
+        }
+
+        /**
+         * Returns the rest of the current page and moves to the next one
+         */
+        Batch takePage() {
+            Batch current = page;
+            if (current != null) {
+                page = nextPage();
+            }
+            return current;
+        }
+
+        Tuple next() {
+            newPage = false;
+            if (page != null && cursor >= page.size()) {
+                page = nextPage();
+                newPage = true;
+            }
+            if (page == null) {
+                return null;
+            }
+            Tuple tuple = page.get(cursor);
+            cursor += 1;
+            return tuple;
+        }
+
+        boolean isNewPage() {
+            return newPage;
+        }
+
+        boolean isEOF() {
+            return eof || page == null;
+        }
+
+        boolean isReadingAhead() {
+            return pending != null;
+        }
+
+        Tuple lastOfPage() {
+            return page.get(page.size() - 1);
+        }
+
+        void readAhead() {
+            int num = pageNum + 1;
+            pending = readAheadPool.submit(() -> readPage(num));
+        }
+
+        void close() {
+            if (pending != null) {
+                try {
+                    pending.get();
+                } catch (InterruptedException | ExecutionException e) {
+                    /** the page is not needed anyway **/
+                }
+                pending = null;
+                BufferPool.getPool().unpin(filename, pageNum + 1, false);
+            }
+            BufferPool.getPool().unpin(filename, pageNum, false);
+            in.close();
+            page = null;
+        }
+    }
 }
@@ -5,31 +5,60 @@ import qp.utils.*;
 import java.util.*;
 
 /**
- * GroupBy Operator used to group data according to attrs
+ * GroupBy Operator used to group data according to attrs and compute the
+ * aggregates (MAX, MIN, SUM, COUNT, AVG) of the select list for every group.
+ * Groups are aggregated in an in-memory hash table while they fit into numBuff - 2 pages.
+ * Once the table is full and no free buffer can be borrowed (see MemoryBroker), tuples
+ * of new groups are partitioned to disk and each partition is aggregated separately
+ * afterwards, partitions that are still too large are partitioned again recursively.
+ * If the input is already sorted on the grouping attributes, the groups are
+ * aggregated one after another while the input is read, without a hash table.
  */
 public class GroupBy extends Operator {
 
     private Operator base;
     private int batchSize; // number of tuples per page
+    private int inBatchSize; // number of input tuples per page
     private int numBuff;
-    private final ArrayList attrs;
-    private ArrayList<Integer> attrsIndex = new ArrayList<>();
-    private ExternalSort externalSort;
-    private Batch inputBatch = null;
-    private int currIndex = 0;
+    private final ArrayList<Attribute> attrs; // grouping attributes
+    private final ArrayList<Attribute> projectList; // output attributes, empty to output the whole tuple
+    private int[] groupIndex; // Indices of the grouping attributes in the base schema
+    private int[] outIndex; // Indices of the (base of the) output attributes in the base schema
+    private int[] aggType; // aggregate function of each output attribute
+    private int[] valueType; // type of the base attribute of each output attribute
+    private int capacity; // the number of groups kept in memory
+
+    private LinkedHashMap<ArrayList<Object>, Group> groups = new LinkedHashMap<>(); // in-memory hash table
+    private Iterator<Group> groupIterator = null; // groups of the hash table still to be output
+    private TupleWriter[] spillWriters = null; // partitions of the tuples that did not fit
+    private final Partitions partitions = new Partitions("GBtemp"); // partitions to be processed
     private boolean eos = false;
-    private Tuple prevTuple = null;
 
-    public GroupBy(Operator base, ArrayList attrs) {
+    private boolean presorted = false; // whether the groups are aggregated from sorted input
+    private Batch inputBatch = null; // page of a sorted input being aggregated
+    private int inputCursor = 0; // cursor in inputBatch
+    private Group current = null; // group being aggregated from sorted input
+    private ArrayList<Object> currentKey = null; // grouping values of current
+
+    public GroupBy(Operator base, ArrayList<Attribute> attrs) {
+        this(base, attrs, new ArrayList<>());
+    }
+
+    public GroupBy(Operator base, ArrayList<Attribute> attrs, ArrayList<Attribute> projectList) {
         super(OpType.GROUPBY);
         this.base = base;
         this.attrs = attrs;
+        this.projectList = projectList;
     }
 
     public void setNumBuff(int numBuff) {
         this.numBuff = numBuff;
     }
 
+    public int getNumBuff() {
+        return numBuff;
+    }
+
     public void setBase(Operator base) {
         this.base = base;
     }
@@ -38,59 +67,282 @@ public class GroupBy extends Operator {
         return base;
     }
 
+    public ArrayList<Attribute> getGroupByList() {
+        return attrs;
+    }
+
+    public ArrayList<Attribute> getProjectList() {
+        return projectList;
+    }
+
+    /**
+     * Whether the tuples of a group are adjacent in the input
+     */
+    public boolean isPresorted() {
+        return isGroupedOn(base.getSortOrder(), attrs);
+    }
+
+    /**
+     * Groups of a sorted input come out in its order
+     */
+    @Override
+    public ArrayList<Attribute> getSortOrder() {
+        if (!isPresorted()) {
+            return new ArrayList<>();
+        }
+        ArrayList<Attribute> order = new ArrayList<>(base.getSortOrder().subList(0, attrs.size()));
+        return orderIn(order, schema);
+    }
+
+    /**
+     * Aggregates the whole input, the groups that fit stay in memory
+     * and the tuples of the others are partitioned to disk.
+     */
     @Override
     public boolean open() {
+        Schema baseSchema = base.getSchema();
         batchSize = Batch.getPageSize() / schema.getTupleSize();
+        inBatchSize = Batch.getPageSize() / baseSchema.getTupleSize();
+        capacity = Math.max(1, (numBuff - 2) * inBatchSize);
+
+        groupIndex = new int[attrs.size()];
         for (int i = 0; i < attrs.size(); i++) {
-            Attribute attribute = (Attribute) attrs.get(i);
-            attrsIndex.add(schema.indexOf(attribute));
+            Attribute attribute = attrs.get(i);
+            groupIndex[i] = baseSchema.indexOf(attribute);
+        }
+        int numOut = projectList.isEmpty() ? baseSchema.getNumCols() : projectList.size();
+        outIndex = new int[numOut];
+        aggType = new int[numOut];
+        valueType = new int[numOut];
+        for (int i = 0; i < numOut; i++) {
+            if (projectList.isEmpty()) {
+                outIndex[i] = i;
+                aggType[i] = Attribute.NONE;
+            } else {
+                Attribute attribute = projectList.get(i);
+                outIndex[i] = baseSchema.indexOf(attribute.getBaseAttribute());
+                aggType[i] = attribute.getAggType();
+            }
+            valueType[i] = baseSchema.typeOf(outIndex[i]);
+        }
+
+        if (!base.open()) {
+            return false;
         }
-        externalSort = new ExternalSort(base, attrs, numBuff);
-        return externalSort.open();
+        eos = false;
+        numOutput = 0;
+        presorted = isPresorted();
+        if (presorted) {
+            inputBatch = base.next();
+            inputCursor = 0;
+            current = null;
+            return true;
+        }
+        takeBuffers(numBuff);
+        groups = new LinkedHashMap<>();
+        Batch inputBatch;
+        while ((inputBatch = base.next()) != null) {
+            for (int i = 0; i < inputBatch.size(); i++) {
+                aggregate(inputBatch.get(i), 0);
+            }
+        }
+        base.close();
+        registerPartitions(1);
+        /** all the groups are in memory, the pages of the table and the output page are kept **/
+        if (partitions.isEmpty()) {
+            int grouppages = (groups.size() + inBatchSize - 1) / inBatchSize;
+            releaseBuffers(numHeld - grouppages - 1);
+        }
+        groupIterator = groups.values().iterator();
+        return true;
     }
 
+    /**
+     * returns a page of aggregated groups
+     */
     @Override
     public Batch next() {
         if (eos) {
             close();
             return null;
-        } else if (inputBatch == null) {
-            inputBatch = externalSort.next();
         }
+        if (presorted) {
+            return nextSorted();
+        }
+        Batch outputBatch = Batch.create(schema, batchSize);
+        while (!outputBatch.isFull()) {
+            if (groupIterator.hasNext()) {
+                outputBatch.add(groupIterator.next().result());
+                continue;
+            }
+            if (!nextPartition()) {
+                eos = true;
+                break;
+            }
+        }
+        if (outputBatch.isEmpty()) {
+            close();
+            return null;
+        }
+        /** Enough groups for the consumer, the partitions left on disk are not aggregated **/
+        if (reachLimit(outputBatch)) {
+            eos = true;
+            close();
+        }
+        return outputBatch;
+    }
 
-        Batch outputBatch = new Batch(batchSize);
+    /**
+     * returns a page of groups aggregated from the sorted input, a group
+     * is complete once a tuple with other grouping values is read
+     */
+    private Batch nextSorted() {
+        Batch outputBatch = Batch.create(schema, batchSize);
         while (!outputBatch.isFull()) {
-            if (inputBatch == null || currIndex >= inputBatch.size()) {
+            while (inputBatch != null && inputCursor >= inputBatch.size()) {
+                inputBatch = base.next();
+                inputCursor = 0;
+            }
+            if (inputBatch == null) {
+                if (current != null) {
+                    outputBatch.add(current.result());
+                    current = null;
+                }
                 eos = true;
                 break;
             }
-            Tuple current = inputBatch.get(currIndex);
-            if (prevTuple == null || !isEqual(prevTuple, current)) {
-                outputBatch.add(current);
-                prevTuple = current;
+            Tuple tuple = inputBatch.get(inputCursor);
+            inputCursor += 1;
+            ArrayList<Object> key = getKey(tuple);
+            if (current != null && !key.equals(currentKey)) {
+                outputBatch.add(current.result());
+                current = null;
             }
-            currIndex += 1;
-            if (currIndex == batchSize) {
-                inputBatch = externalSort.next();
-                currIndex = 0;
+            if (current == null) {
+                current = new Group(tuple);
+                currentKey = key;
             }
+            current.add(tuple);
+        }
+        if (outputBatch.isEmpty()) {
+            close();
+            return null;
+        }
+        if (reachLimit(outputBatch)) {
+            eos = true;
+            close();
         }
         return outputBatch;
     }
 
-    private boolean isEqual(Tuple t1, Tuple t2) {
-        for (int index : attrsIndex) {
-            int result = Tuple.compareTuples(t1, t2, index);
-            if (result != 0) {
-                return false;
+    /**
+     * Adds the tuple to its group, or to a partition file if the group
+     * is not in memory and the hash table is full.
+     */
+    private void aggregate(Tuple tuple, int depth) {
+        ArrayList<Object> key = getKey(tuple);
+        Group group = groups.get(key);
+        if (group == null) {
+            /** beyond Partitions.MAX_DEPTH the partition is aggregated in memory regardless of its size **/
+            if (groups.size() >= capacity && depth < Partitions.MAX_DEPTH && !growTable()) {
+                if (spillWriters == null) {
+                    spillWriters = partitions.createWriters(numHeld - 1, inBatchSize);
+                }
+                spillWriters[Partitions.partitionOf(key, depth, spillWriters.length)].next(tuple);
+                return;
             }
+            group = new Group(tuple);
+            groups.put(key, group);
         }
+        group.add(tuple);
+    }
+
+    /**
+     * Aggregates the next partition on disk into the hash table
+     *
+     * @return false if there is no more partition
+     */
+    private boolean nextPartition() {
+        groups = new LinkedHashMap<>();
+        if (partitions.isEmpty()) {
+            return false;
+        }
+        int[] partition = partitions.poll();
+        String filename = partitions.filesOf(partition[0])[0];
+        TupleReader reader = new TupleReader(filename, inBatchSize);
+        if (!reader.open()) {
+            System.out.println("GroupBy: Error in reading temporary file");
+            System.exit(1);
+        }
+        Tuple tuple;
+        while ((tuple = reader.next()) != null) {
+            aggregate(tuple, partition[1]);
+        }
+        reader.close();
+        registerPartitions(partition[1] + 1);
+        groupIterator = groups.values().iterator();
         return true;
     }
 
+    /**
+     * Borrows a free buffer for one more page of the hash table. Once tuples
+     * of the current input are partitioned the table does not grow any more,
+     * the groups they belong to would be split between memory and disk
+     *
+     * @return false if the table cannot grow
+     */
+    private boolean growTable() {
+        if (spillWriters != null || borrowBuffers(1) == 0) {
+            return false;
+        }
+        capacity += inBatchSize;
+        return true;
+    }
+
+    private void registerPartitions(int depth) {
+        if (spillWriters == null) {
+            return;
+        }
+        partitions.register(depth, spillWriters);
+        spillWriters = null;
+    }
+
+    private ArrayList<Object> getKey(Tuple tuple) {
+        ArrayList<Object> key = new ArrayList<>(groupIndex.length);
+        for (int index : groupIndex) {
+            key.add(tuple.dataAt(index));
+        }
+        return key;
+    }
+
+    private static int compareValues(Object left, Object right) {
+        if (left instanceof Integer) {
+            return ((Integer) left).compareTo((Integer) right);
+        } else if (left instanceof String) {
+            return ((String) left).compareTo((String) right);
+        } else {
+            return ((Float) left).compareTo((Float) right);
+        }
+    }
+
     @Override
     public boolean close() {
-        return externalSort.close();
+        releaseBuffers();
+        if (presorted) {
+            inputBatch = null;
+            current = null;
+            return base.close();
+        }
+        if (spillWriters != null) {
+            for (TupleWriter writer : spillWriters) {
+                writer.close();
+            }
+            spillWriters = null;
+        }
+        partitions.clear();
+        groups = new LinkedHashMap<>();
+        groupIterator = Collections.emptyIterator();
+        return true;
     }
 
     @Override
@@ -98,12 +350,84 @@ public class GroupBy extends Operator {
         Operator newBase = (Operator) base.clone();
         ArrayList<Attribute> newAttrs = new ArrayList<>();
         for (int i = 0; i < attrs.size(); i++) {
-            Attribute attribute = (Attribute) ((Attribute) attrs.get(i)).clone();
+            Attribute attribute = (Attribute) attrs.get(i).clone();
             newAttrs.add(attribute);
         }
-        GroupBy newGroupBy = new GroupBy(newBase, newAttrs);
-        newGroupBy.setSchema(newBase.getSchema());
+        ArrayList<Attribute> newProjectList = new ArrayList<>();
+        for (Attribute attribute : projectList) {
+            newProjectList.add((Attribute) attribute.clone());
+        }
+        GroupBy newGroupBy = new GroupBy(newBase, newAttrs, newProjectList);
+        newGroupBy.setNumBuff(numBuff);
+        if (newProjectList.isEmpty()) {
+            newGroupBy.setSchema(newBase.getSchema());
+        } else {
+            newGroupBy.setSchema(newBase.getSchema().subSchema(newProjectList));
+        }
         return newGroupBy;
     }
-}
 
+    /**
+     * Running aggregates of one group
+     */
+    private class Group {
+        final Object[] values; // plain attributes and current MAX / MIN
+        final double[] sums; // running SUM / AVG
+        long count = 0; // number of tuples in the group
+
+        Group(Tuple first) {
+            values = new Object[outIndex.length];
+            sums = new double[outIndex.length];
+            for (int i = 0; i < outIndex.length; i++) {
+                values[i] = first.dataAt(outIndex[i]);
+            }
+        }
+
+        void add(Tuple tuple) {
+            count += 1;
+            for (int i = 0; i < outIndex.length; i++) {
+                switch (aggType[i]) {
+                    case Attribute.MAX:
+                    case Attribute.MIN:
+                        Object value = tuple.dataAt(outIndex[i]);
+                        int cmp = compareValues(value, values[i]);
+                        if (aggType[i] == Attribute.MAX ? cmp > 0 : cmp < 0) {
+                            values[i] = value;
+                        }
+                        break;
+                    case Attribute.SUM:
+                    case Attribute.AVG:
+                        sums[i] += ((Number) tuple.dataAt(outIndex[i])).doubleValue();
+                        break;
+                    default:
+                        break;
+                }
+            }
+        }
+
+        Tuple result() {
+            ArrayList<Object> data = new ArrayList<>(outIndex.length);
+            for (int i = 0; i < outIndex.length; i++) {
+                switch (aggType[i]) {
+                    case Attribute.SUM:
+                        if (valueType[i] == Attribute.INT) {
+                            data.add((int) sums[i]);
+                        } else {
+                            data.add((float) sums[i]);
+                        }
+                        break;
+                    case Attribute.COUNT:
+                        data.add((int) count);
+                        break;
+                    case Attribute.AVG:
+                        data.add((float) (sums[i] / count));
+                        break;
+                    default:
+                        data.add(values[i]);
+                        break;
+                }
+            }
+            return new Tuple(data);
+        }
+    }
+}
@@ -0,0 +1,327 @@
+package qp.operators;
+
+import qp.utils.*;
+
+import java.util.*;
+
+/**
+ * Hybrid Hash Join Algorithm
+ * If the left input fits into numBuff - 2 pages, or into more with free buffers borrowed from
+ * the MemoryBroker, the hash table is built directly in memory, otherwise both inputs are partitioned to disk (Grace hash join) and each partition pair
+ * is joined separately. Partitions that are still too large are partitioned again recursively.
+ */
+public class HashJoin extends Join {
+
+    private int batchsize; // the number of tuple each output page
+    private int leftbatchsize; // the number of tuple each left page
+    private int rightbatchsize; // the number of tuple each right page
+    private int buildcapacity; // the number of left tuples that fit into numBuff - 2 pages
+    private ArrayList<Integer> leftindex; // Indices of the join attributes in left table
+    private ArrayList<Integer> rightindex; // Indices of the join attributes in right table
+    private final Partitions partitions = new Partitions("HJtemp"); // partitions {left, right} to be joined
+
+    private HashMap<ArrayList<Object>, ArrayList<Tuple>> hashtable = new HashMap<>(); // in-memory build table
+    private TupleReader leftreader; // reader of the left partition being built, null for in-memory mode
+    private TupleReader rightreader; // reader of the right partition being probed, null for in-memory mode
+    private String rightfile; // file of the right partition being probed
+    private Batch rightbatch; // current right page when probing the right operator directly
+    private int rcurs = 0; // Cursor for right side buffer
+    private boolean inMemory = false; // whether the whole left input fits in memory
+    private boolean eosr = true; // Whether the probe input of the current build is exhausted
+
+    private Tuple probetuple = null; // current right tuple being probed
+    private ArrayList<Tuple> matches = null; // left tuples matching probetuple
+    private int matchcurs = 0; // Cursor inside matches
+    private boolean eos = false; // Whether end of stream is reached
+    private boolean closed = true; // Whether close has run since the last open, the inputs are closed only once
+
+    public HashJoin(Join jn) {
+        super(jn.getLeft(), jn.getRight(), jn.getConditionList(), jn.getOpType());
+        schema = jn.getSchema();
+        jointype = jn.getJoinType();
+        numBuff = jn.getNumBuff();
+    }
+
+    /**
+     * Reads the left input, builds the in-memory hash table if it fits,
+     * otherwise partitions both inputs into temporary files.
+     */
+    @Override
+    public boolean open() {
+        takeBuffers(numBuff);
+        closed = false;
+        batchsize = Batch.getPageSize() / schema.getTupleSize();
+        leftbatchsize = Batch.getPageSize() / left.getSchema().getTupleSize();
+        rightbatchsize = Batch.getPageSize() / right.getSchema().getTupleSize();
+        buildcapacity = Math.max(1, (numBuff - 2) * leftbatchsize);
+        numOutput = 0;
+
+        leftindex = new ArrayList<>();
+        rightindex = new ArrayList<>();
+        for (Condition con : conditionList) {
+            Attribute leftattr = con.getLhs();
+            Attribute rightattr = (Attribute) con.getRhs();
+            leftindex.add(left.getSchema().indexOf(leftattr));
+            rightindex.add(right.getSchema().indexOf(rightattr));
+        }
+
+        if (!left.open()) {
+            return false;
+        }
+
+        /** Try to keep the whole left input in memory first, free buffers
+         ** are borrowed if it is larger than the grant
+         **/
+        ArrayList<Tuple> buffered = new ArrayList<>();
+        Batch leftpage = left.next();
+        while (leftpage != null && (buffered.size() + leftpage.size() <= buildcapacity || growBuild())) {
+            /** plain copies are kept, a row view would keep its whole page in memory **/
+            for (int i = 0; i < leftpage.size(); i++) {
+                buffered.add(new Tuple(leftpage.get(i).data()));
+            }
+            leftpage = left.next();
+        }
+
+        if (leftpage == null) {
+            left.close();
+            inMemory = true;
+            /** the pages of the hash table, one for the right input and one for the output are kept **/
+            int buildpages = (buffered.size() + leftbatchsize - 1) / leftbatchsize;
+            releaseBuffers(numHeld - buildpages - 2);
+            for (Tuple tuple : buffered) {
+                insert(tuple);
+            }
+            if (!right.open()) {
+                return false;
+            }
+            eosr = false;
+            return true;
+        }
+
+        /** Left input overflows memory: partition both inputs on disk,
+         ** one page for every partition of the buffers held
+         **/
+        int numPartitions = Math.max(1, numHeld - 1);
+        TupleWriter[] leftwriters = partitions.createWriters(numPartitions, "L", leftbatchsize);
+        for (Tuple tuple : buffered) {
+            leftwriters[Partitions.partitionOf(getKey(tuple, leftindex), 0, numPartitions)].next(tuple);
+        }
+        while (leftpage != null) {
+            for (Tuple tuple : leftpage.getAll()) {
+                leftwriters[Partitions.partitionOf(getKey(tuple, leftindex), 0, numPartitions)].next(tuple);
+            }
+            leftpage = left.next();
+        }
+        left.close();
+
+        if (!right.open()) {
+            return false;
+        }
+        TupleWriter[] rightwriters = partitions.createWriters(numPartitions, "R", rightbatchsize);
+        Batch rightpage;
+        while ((rightpage = right.next()) != null) {
+            for (Tuple tuple : rightpage.getAll()) {
+                rightwriters[Partitions.partitionOf(getKey(tuple, rightindex), 0, numPartitions)].next(tuple);
+            }
+        }
+        right.close();
+
+        partitions.register(0, leftwriters, rightwriters);
+        return true;
+    }
+
+    /**
+     * returns a page of joined tuples
+     */
+    @Override
+    public Batch next() {
+        if (eos) {
+            close();
+            return null;
+        }
+        Batch outbatch = Batch.create(schema, batchsize);
+        while (!outbatch.isFull()) {
+            if (matches != null && matchcurs < matches.size()) {
+                outbatch.addJoined(matches.get(matchcurs), probetuple);
+                matchcurs += 1;
+                continue;
+            }
+            matches = null;
+            if (!eosr) {
+                probetuple = nextProbeTuple();
+                if (probetuple != null) {
+                    matches = hashtable.get(getKey(probetuple, rightindex));
+                    matchcurs = 0;
+                }
+                continue;
+            }
+            if (!nextBuild()) {
+                eos = true;
+                break;
+            }
+        }
+        if (outbatch.isEmpty()) {
+            close();
+            return null;
+        }
+        /** Enough tuples for the consumer, the remaining partitions are dropped **/
+        if (reachLimit(outbatch)) {
+            eos = true;
+            close();
+        }
+        return outbatch;
+    }
+
+    /**
+     * Returns the next tuple to be probed against the hash table, or null
+     * if the probe side of the current build is exhausted.
+     */
+    private Tuple nextProbeTuple() {
+        if (inMemory) {
+            while (rightbatch == null || rcurs >= rightbatch.size()) {
+                rightbatch = right.next();
+                rcurs = 0;
+                if (rightbatch == null) {
+                    eosr = true;
+                    return null;
+                }
+            }
+            Tuple next = rightbatch.get(rcurs);
+            rcurs += 1;
+            return next;
+        }
+        Tuple next = rightreader.next();
+        if (next == null) {
+            rightreader.close();
+            eosr = true;
+        }
+        return next;
+    }
+
+    /**
+     * Loads the next chunk of left tuples into the hash table and
+     * starts a new probe pass, repartitioning oversized partitions if needed.
+     *
+     * @return false if there is no more partition to be joined, or a partition cannot be read
+     */
+    private boolean nextBuild() {
+        hashtable = new HashMap<>();
+        if (inMemory) {
+            return false;
+        }
+
+        /** The current left partition did not fit: load its next chunk and rescan the right partition **/
+        if (leftreader != null && !leftreader.isEOF()) {
+            loadChunk();
+            return startProbe();
+        }
+
+        while (!partitions.isEmpty()) {
+            int[] partition = partitions.poll();
+            String[] files = partitions.filesOf(partition[0]);
+            leftreader = new TupleReader(files[0], leftbatchsize);
+            leftreader.open();
+            rightfile = files[1];
+            loadChunk();
+            if (!leftreader.isEOF() && partition[1] < Partitions.MAX_DEPTH) {
+                /** partition is larger than memory, split it again with a different hash function **/
+                leftreader.close();
+                leftreader = null;
+                hashtable = new HashMap<>();
+                repartition(files, partition[1] + 1);
+                continue;
+            }
+            /** at Partitions.MAX_DEPTH the skewed partition is processed chunk by chunk instead **/
+            return startProbe();
+        }
+        return false;
+    }
+
+    /**
+     * Reads up to buildcapacity tuples of the current left partition into the hash table
+     */
+    private void loadChunk() {
+        int count = 0;
+        Tuple tuple;
+        while (count < buildcapacity && (tuple = leftreader.next()) != null) {
+            insert(tuple);
+            count += 1;
+        }
+    }
+
+    /**
+     * Starts probing the hash table with the current right partition
+     *
+     * @return false if the partition cannot be read
+     */
+    private boolean startProbe() {
+        rightreader = new TupleReader(rightfile, rightbatchsize);
+        if (!rightreader.open()) {
+            System.out.println("HashJoin: Error in reading temporary file");
+            return false;
+        }
+        eosr = false;
+        return true;
+    }
+
+    /**
+     * Splits a pair of partition files into one smaller partition pair
+     * for every buffer held but one
+     */
+    private void repartition(String[] files, int depth) {
+        int numPartitions = Math.max(1, numHeld - 1);
+        TupleWriter[] leftwriters = partitions.createWriters(numPartitions, "L", leftbatchsize);
+        TupleWriter[] rightwriters = partitions.createWriters(numPartitions, "R", rightbatchsize);
+        spill(files[0], leftbatchsize, leftindex, leftwriters, depth);
+        spill(files[1], rightbatchsize, rightindex, rightwriters, depth);
+        partitions.register(depth, leftwriters, rightwriters);
+    }
+
+    private void spill(String filename, int size, ArrayList<Integer> index, TupleWriter[] writers, int depth) {
+        TupleReader reader = new TupleReader(filename, size);
+        reader.open();
+        Tuple tuple;
+        while ((tuple = reader.next()) != null) {
+            writers[Partitions.partitionOf(getKey(tuple, index), depth, writers.length)].next(tuple);
+        }
+        reader.close();
+    }
+
+    /**
+     * Borrows a free buffer for one more page of the in-memory hash table
+     *
+     * @return false if no buffer is free
+     */
+    private boolean growBuild() {
+        if (borrowBuffers(1) == 0) {
+            return false;
+        }
+        buildcapacity += leftbatchsize;
+        return true;
+    }
+
+    private void insert(Tuple tuple) {
+        hashtable.computeIfAbsent(getKey(tuple, leftindex), k -> new ArrayList<>()).add(tuple);
+    }
+
+    @Override
+    public boolean close() {
+        if (closed) {
+            return true;
+        }
+        closed = true;
+        releaseBuffers();
+        if (inMemory) {
+            right.close();
+        }
+        if (leftreader != null) {
+            leftreader.close();
+        }
+        if (rightreader != null) {
+            rightreader.close();
+        }
+        partitions.clear();
+        hashtable = new HashMap<>();
+        return true;
+    }
+}
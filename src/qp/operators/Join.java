@@ -4,8 +4,10 @@
 
 package qp.operators;
 
+import qp.utils.Attribute;
 import qp.utils.Condition;
 import qp.utils.Schema;
+import qp.utils.Tuple;
 
 import java.util.ArrayList;
 
@@ -102,6 +104,54 @@ public class Join extends Operator {
         conditionList.add(condition);
     }
 
+    /**
+     * Values of the join attributes of a tuple, used as hash key by the
+     * * joins that build a hash table on one input
+     **/
+    static ArrayList<Object> getKey(Tuple tuple, ArrayList<Integer> index) {
+        ArrayList<Object> key = new ArrayList<>(index.size());
+        for (int i : index) {
+            key.add(tuple.dataAt(i));
+        }
+        return key;
+    }
+
+    /**
+     * Sort merge join outputs the tuples in the order of the sorted left input,
+     * * the other methods give no particular order
+     **/
+    @Override
+    public ArrayList<Attribute> getSortOrder() {
+        if (jointype != JoinType.SORTMERGE) {
+            return new ArrayList<>();
+        }
+        return getLeftKey();
+    }
+
+    /**
+     * Attributes the left input of a sort merge join is sorted on,
+     * * the left attributes of all the join conditions
+     **/
+    public ArrayList<Attribute> getLeftKey() {
+        ArrayList<Attribute> key = new ArrayList<>();
+        for (Condition condition : conditionList) {
+            key.add(condition.getLhs());
+        }
+        return key;
+    }
+
+    /**
+     * Attributes the right input of a sort merge join is sorted on,
+     * * in the same sequence as the left ones
+     **/
+    public ArrayList<Attribute> getRightKey() {
+        ArrayList<Attribute> key = new ArrayList<>();
+        for (Condition condition : conditionList) {
+            key.add((Attribute) condition.getRhs());
+        }
+        return key;
+    }
+
     public Object clone() {
         Operator newleft = (Operator) left.clone();
         Operator newright = (Operator) right.clone();
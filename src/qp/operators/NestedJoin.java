@@ -6,15 +6,18 @@ package qp.operators;
 
 import qp.utils.Attribute;
 import qp.utils.Batch;
+import qp.utils.BufferPool;
 import qp.utils.Condition;
+import qp.utils.PageFile;
 import qp.utils.Tuple;
 
 import java.io.*;
 import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class NestedJoin extends Join {
 
-    static int filenum = 0;         // To get unique filenum for this operation
+    static final AtomicInteger filenum = new AtomicInteger();  // To get unique filenum for this operation
     int batchsize;                  // Number of tuples per out batch
     ArrayList<Integer> leftindex;   // Indices of the join attributes in left table
     ArrayList<Integer> rightindex;  // Indices of the join attributes in right table
@@ -22,7 +25,12 @@ public class NestedJoin extends Join {
     Batch outbatch;                 // Buffer page for output
     Batch leftbatch;                // Buffer page for left input stream
     Batch rightbatch;               // Buffer page for right input stream
-    ObjectInputStream in;           // File pointer to the right hand materialized file
+    PageFile rightfile;             // The right hand materialized file, read through the BufferPool
+    int numrightpages;              // Number of pages of the materialized right input
+    int rightpagenum;               // Number of the next materialized page to read
+    int pinned;                     // Number of the materialized page pinned, -1 if none
+    boolean firstpass;              // Whether the right input is still read from the right operator
+    boolean rescan;                 // Whether the right input is rewound instead of materialized
 
     int lcurs;                      // Cursor for left side buffer
     int rcurs;                      // Cursor for right side buffer
@@ -42,6 +50,8 @@ public class NestedJoin extends Join {
      * * Opens the connections
      **/
     public boolean open() {
+        takeBuffers(numBuff);
+
         /** select number of tuples per batch **/
         int tuplesize = schema.getTupleSize();
         batchsize = Batch.getPageSize() / tuplesize;
@@ -55,42 +65,42 @@ public class NestedJoin extends Join {
             leftindex.add(left.getSchema().indexOf(leftattr));
             rightindex.add(right.getSchema().indexOf(rightattr));
         }
-        Batch rightpage;
 
         /** initialize the cursors of input buffers **/
         lcurs = 0;
         rcurs = 0;
         eosl = false;
+        numOutput = 0;
         /** because right stream is to be repetitively scanned
          ** if it reached end, we have to start new scan
          **/
         eosr = true;
 
         /** Right hand side table is to be materialized
-         ** for the Nested join to perform
+         ** for the Nested join to perform, unless it can be scanned
+         ** again from the start (e.g. a base table). It is written out while
+         ** the first left page is joined with it, so nothing is read
+         ** before the consumer asks for it
          **/
         if (!right.open()) {
             return false;
-        } else {
-            /** If the right operator is not a base table then
-             ** Materialize the intermediate result from right
-             ** into a file
-             **/
-            filenum++;
-            rfname = "NJtemp-" + filenum;
-            try {
-                ObjectOutputStream out = new ObjectOutputStream(new FileOutputStream(rfname));
-                while ((rightpage = right.next()) != null) {
-                    out.writeObject(rightpage);
-                }
-                out.close();
-            } catch (IOException io) {
+        }
+        rescan = right.isRescannable();
+        rightfile = null;
+        rfname = null;
+        if (!rescan) {
+            rfname = "NJtemp-" + filenum.incrementAndGet();
+            rightfile = new PageFile(rfname);
+            if (!rightfile.create()) {
                 System.out.println("NestedJoin: Error writing to temporary file");
                 return false;
             }
-            if (!right.close())
-                return false;
+            /** not left behind if the plan is never closed **/
+            new File(rfname).deleteOnExit();
         }
+        numrightpages = 0;
+        pinned = -1;
+        firstpass = true;
         if (left.open())
             return true;
         else
@@ -102,11 +112,24 @@ public class NestedJoin extends Join {
      * * And returns a page of output tuples
      **/
     public Batch next() {
-        int i, j;
         if (eosl) {
             return null;
         }
-        outbatch = new Batch(batchsize);
+        outbatch = joinPage();
+        /** Enough tuples for the consumer, both inputs are abandoned **/
+        if (reachLimit(outbatch)) {
+            eosl = true;
+            close();
+        }
+        return outbatch;
+    }
+
+    /**
+     * Fills an output page with the joined tuples
+     **/
+    private Batch joinPage() {
+        int i, j;
+        outbatch = Batch.create(schema, batchsize);
         while (!outbatch.isFull()) {
             if (lcurs == 0 && eosr == true) {
                 /** new left page is to be fetched**/
@@ -118,27 +141,27 @@ public class NestedJoin extends Join {
                 /** Whenever a new left page came, we have to start the
                  ** scanning of right table
                  **/
-                try {
-                    in = new ObjectInputStream(new FileInputStream(rfname));
-                    eosr = false;
-                } catch (IOException io) {
-                    System.err.println("NestedJoin:error in reading the file");
-                    System.exit(1);
+                if (!firstpass && rescan) {
+                    if (!right.rewind()) {
+                        System.err.println("NestedJoin:error in rescanning the right input");
+                        System.exit(1);
+                    }
                 }
+                rightpagenum = 0;
+                eosr = false;
 
             }
             while (eosr == false) {
                 try {
                     if (rcurs == 0 && lcurs == 0) {
-                        rightbatch = (Batch) in.readObject();
+                        rightbatch = readRightPage();
                     }
                     for (i = lcurs; i < leftbatch.size(); ++i) {
                         for (j = rcurs; j < rightbatch.size(); ++j) {
                             Tuple lefttuple = leftbatch.get(i);
                             Tuple righttuple = rightbatch.get(j);
                             if (lefttuple.checkJoin(righttuple, leftindex, rightindex)) {
-                                Tuple outtuple = lefttuple.joinWith(righttuple);
-                                outbatch.add(outtuple);
+                                outbatch.addJoined(lefttuple, righttuple);
                                 if (outbatch.isFull()) {
                                     if (i == leftbatch.size() - 1 && j == rightbatch.size() - 1) {  //case 1
                                         lcurs = 0;
@@ -161,30 +184,74 @@ public class NestedJoin extends Join {
                     }
                     lcurs = 0;
                 } catch (EOFException e) {
-                    try {
-                        in.close();
-                    } catch (IOException io) {
-                        System.out.println("NestedJoin: Error in reading temporary file");
-                    }
+                    unpinRightPage();
                     eosr = true;
-                } catch (ClassNotFoundException c) {
-                    System.out.println("NestedJoin: Error in deserialising temporary file ");
-                    System.exit(1);
-                } catch (IOException io) {
-                    System.out.println("NestedJoin: Error in reading temporary file");
-                    System.exit(1);
                 }
             }
         }
         return outbatch;
     }
 
+    /**
+     * Next page of the right input. During the first pass it comes from the
+     * * right operator and is put into the BufferPool as a page of the
+     * * materialized file, afterwards it is pinned from the pool. A rescannable right input is always
+     * * read from the right operator and stays open until the join is closed
+     **/
+    private Batch readRightPage() throws EOFException {
+        if (!firstpass && !rescan) {
+            unpinRightPage();
+            if (rightpagenum >= numrightpages) {
+                throw new EOFException();
+            }
+            Batch rightpage = (Batch) BufferPool.getPool().pin(rfname, rightpagenum, rightfile);
+            if (rightpage == null) {
+                System.out.println("NestedJoin: Error in reading temporary file");
+                System.exit(1);
+            }
+            pinned = rightpagenum;
+            rightpagenum++;
+            return rightpage;
+        }
+        Batch rightpage = right.next();
+        if (rightpage == null) {
+            firstpass = false;
+            if (!rescan) {
+                right.close();
+            }
+            throw new EOFException();
+        }
+        /** the page goes to the pool, it is only written to the file if it is evicted **/
+        if (!rescan) {
+            BufferPool.getPool().write(rfname, numrightpages, rightpage, rightfile);
+            numrightpages++;
+        }
+        return rightpage;
+    }
+
+    private void unpinRightPage() {
+        if (pinned >= 0) {
+            BufferPool.getPool().unpin(rfname, pinned, false);
+            pinned = -1;
+        }
+    }
+
     /**
      * Close the operator
+     * * the inputs may not be exhausted if the consumer stopped early
      */
     public boolean close() {
-        File f = new File(rfname);
-        f.delete();
+        releaseBuffers();
+        unpinRightPage();
+        left.close();
+        right.close();
+        /** the pages are dropped before the file is closed, none is written back **/
+        if (rightfile != null) {
+            BufferPool.getPool().discard(rfname);
+            rightfile.close();
+            rightfile = null;
+            PageFile.delete(rfname);
+        }
         return true;
     }
 
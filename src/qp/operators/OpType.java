@@ -13,6 +13,8 @@ public class OpType {
     public static final int DISTINCT = 4;
     public static final int GROUPBY = 5;
     public static final int SORT = 6;
+    public static final int ORDERBY = 7;
+    public static final int EXCHANGE = 8;
 
 
 
@@ -3,15 +3,21 @@
  **/
 package qp.operators;
 
+import qp.utils.Attribute;
 import qp.utils.Batch;
+import qp.utils.MemoryBroker;
 import qp.utils.Schema;
 
+import java.util.ArrayList;
+
 public class Operator {
 
     int optype;     // Whether it is OpType.SELECT/ Optype.PROJECT/OpType.JOIN
     Schema schema;  // Schema of the result at this operator
     int limit;
     int offset;
+    int numOutput;  // Number of tuples returned since open, counted against the row budget
+    int numHeld;    // Number of buffers held from the MemoryBroker while open
 
     public Operator(int type) {
         this.optype = type;
@@ -25,6 +31,83 @@ public class Operator {
 
     public int getOffset() { return offset; }
 
+    /**
+     * Number of tuples the consumer needs at most from this operator,
+     * * limit + offset, or 0 if the output is not bounded
+     **/
+    public int getRowBudget() {
+        if (limit <= 0) {
+            return 0;
+        }
+        return limit + Math.max(offset, 0);
+    }
+
+    /**
+     * Counts an output page against the row budget, the tuples beyond
+     * * the budget are dropped from the end of the page
+     *
+     * @return true if the budget is used up and no more tuple has to be produced
+     **/
+    protected boolean reachLimit(Batch outbatch) {
+        int budget = getRowBudget();
+        if (budget <= 0) {
+            return false;
+        }
+        while (outbatch.size() > 0 && numOutput + outbatch.size() > budget) {
+            outbatch.remove(outbatch.size() - 1);
+        }
+        numOutput += outbatch.size();
+        return numOutput >= budget;
+    }
+
+    /**
+     * Attributes the output is sorted on, most significant first,
+     * * empty if the tuples come in no particular order
+     **/
+    public ArrayList<Attribute> getSortOrder() {
+        return new ArrayList<>();
+    }
+
+    /**
+     * Whether tuples in the given order are sorted on attrs,
+     * * i.e. attrs is a prefix of the order
+     **/
+    public static boolean isSortedOn(ArrayList<Attribute> order, ArrayList<Attribute> attrs) {
+        if (attrs.size() > order.size()) {
+            return false;
+        }
+        for (int i = 0; i < attrs.size(); i++) {
+            if (!order.get(i).equals(attrs.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Whether tuples with equal values of attrs are adjacent in the given
+     * * order, i.e. the order starts with the attributes of attrs in any sequence
+     **/
+    public static boolean isGroupedOn(ArrayList<Attribute> order, ArrayList<Attribute> attrs) {
+        if (attrs.size() > order.size()) {
+            return false;
+        }
+        return order.subList(0, attrs.size()).containsAll(attrs);
+    }
+
+    /**
+     * The longest prefix of the order whose attributes are all in the schema
+     **/
+    static ArrayList<Attribute> orderIn(ArrayList<Attribute> order, Schema schema) {
+        ArrayList<Attribute> prefix = new ArrayList<>();
+        for (Attribute attr : order) {
+            if (schema.indexOf(attr) < 0) {
+                break;
+            }
+            prefix.add(attr);
+        }
+        return prefix;
+    }
 
     public Schema getSchema() {
         return schema;
@@ -58,6 +141,58 @@ public class Operator {
         return true;
     }
 
+    /**
+     * Takes the buffers granted to the operator from the MemoryBroker,
+     * * those held before are given back
+     **/
+    protected void takeBuffers(int num) {
+        releaseBuffers(numHeld);
+        MemoryBroker.take(num);
+        numHeld = num;
+    }
+
+    /**
+     * Borrows up to the wanted number of free buffers, when the input
+     * * turns out larger than estimated
+     *
+     * @return the number of buffers borrowed
+     **/
+    protected int borrowBuffers(int wanted) {
+        int num = MemoryBroker.borrow(wanted);
+        numHeld += num;
+        return num;
+    }
+
+    /**
+     * Gives back buffers the operator does not need (any more)
+     **/
+    protected void releaseBuffers(int num) {
+        num = Math.max(0, Math.min(num, numHeld));
+        MemoryBroker.release(num);
+        numHeld -= num;
+    }
+
+    protected void releaseBuffers() {
+        releaseBuffers(numHeld);
+    }
+
+    /**
+     * Whether the output can be read again from the start with rewind()
+     * * without reading more pages than materializing it would write,
+     * * e.g. a base table or a result that is on disk already
+     **/
+    public boolean isRescannable() {
+        return false;
+    }
+
+    /**
+     * Starts the output of an open operator again from its first tuple,
+     * * only supported if isRescannable()
+     **/
+    public boolean rewind() {
+        return false;
+    }
+
     public Object clone() {
         return new Operator(optype);
     }
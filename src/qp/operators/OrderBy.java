@@ -0,0 +1,207 @@
+package qp.operators;
+
+import qp.utils.*;
+
+import java.util.*;
+
+/**
+ * OrderBy Operator used to sort the result according to attrs
+ * Without a LIMIT the whole input is sorted with ExternalSort.
+ * With a LIMIT only the first limit + offset tuples are needed: they are kept in a bounded
+ * max-heap while the input is read once, provided they fit into numBuff - 1 pages,
+ * so nothing is written to disk (top-N).
+ * An input that is already sorted on attrs is passed through as it is.
+ */
+public class OrderBy extends Operator {
+
+    private Operator base;
+    private int batchSize; // number of tuples per page
+    private int numBuff;
+    private final ArrayList<Attribute> attrs; // attributes to sort on
+    private ArrayList<Integer> attrsIndex = new ArrayList<>();
+    private Operator sortedInput = null; // ExternalSort of the input, or the input itself if it is sorted already
+    private ArrayList<Tuple> topTuples = null; // result of the top-N heap in sorted order
+    private int currIndex = 0; // cursor in topTuples
+    private boolean eos = false;
+
+    public OrderBy(Operator base, ArrayList<Attribute> attrs) {
+        super(OpType.ORDERBY);
+        this.base = base;
+        this.attrs = attrs;
+    }
+
+    public void setNumBuff(int numBuff) {
+        this.numBuff = numBuff;
+    }
+
+    public int getNumBuff() {
+        return numBuff;
+    }
+
+    public void setBase(Operator base) {
+        this.base = base;
+    }
+
+    public Operator getBase() {
+        return base;
+    }
+
+    public ArrayList<Attribute> getOrderByList() {
+        return attrs;
+    }
+
+    /**
+     * Whether the input already comes sorted on attrs
+     */
+    public boolean isPresorted() {
+        return isSortedOn(base.getSortOrder(), attrs);
+    }
+
+    @Override
+    public ArrayList<Attribute> getSortOrder() {
+        if (isPresorted()) {
+            return base.getSortOrder();
+        }
+        return new ArrayList<>(attrs);
+    }
+
+    /**
+     * Number of tuples that have to be kept for a top-N, 0 if the whole input has to be sorted
+     */
+    public int getTopN() {
+        return getRowBudget();
+    }
+
+    /**
+     * Whether the top-N tuples fit in memory and the heap can be used
+     */
+    public boolean isTopN() {
+        int capacity = Math.max(1, Batch.getPageSize() / schema.getTupleSize());
+        return getTopN() > 0 && getTopN() <= (numBuff - 1) * capacity;
+    }
+
+    @Override
+    public boolean open() {
+        batchSize = Batch.getPageSize() / schema.getTupleSize();
+        attrsIndex = new ArrayList<>();
+        for (int i = 0; i < attrs.size(); i++) {
+            Attribute attribute = attrs.get(i);
+            attrsIndex.add(schema.indexOf(attribute));
+        }
+        eos = false;
+        numOutput = 0;
+        sortedInput = null;
+        if (isPresorted()) {
+            sortedInput = base;
+            return base.open();
+        }
+        takeBuffers(numBuff);
+        if (!isTopN()) {
+            sortedInput = new ExternalSort(base, attrs, numBuff);
+            return sortedInput.open();
+        }
+
+        if (!base.open()) {
+            return false;
+        }
+        /** the heap is ordered largest first so that the tuple to be evicted is at the top **/
+        int topN = getTopN();
+        PriorityQueue<Tuple> heap = new PriorityQueue<>(topN, (t1, t2) -> compareTuples(t2, t1));
+        Batch inputBatch;
+        while ((inputBatch = base.next()) != null) {
+            for (int i = 0; i < inputBatch.size(); i++) {
+                Tuple current = inputBatch.get(i);
+                if (heap.size() < topN) {
+                    heap.add(new Tuple(current.data()));
+                } else if (compareTuples(current, heap.peek()) < 0) {
+                    heap.poll();
+                    heap.add(new Tuple(current.data()));
+                }
+            }
+        }
+        base.close();
+
+        topTuples = new ArrayList<>(heap.size());
+        while (!heap.isEmpty()) {
+            topTuples.add(heap.poll());
+        }
+        Collections.reverse(topTuples);
+        /** only the pages of the top tuples and the output page are kept **/
+        releaseBuffers(numHeld - (topTuples.size() + batchSize - 1) / batchSize - 1);
+        currIndex = 0;
+        return true;
+    }
+
+    /**
+     * returns a page of sorted output tuples
+     */
+    @Override
+    public Batch next() {
+        if (sortedInput != null) {
+            if (eos) {
+                return null;
+            }
+            Batch outputBatch = sortedInput.next();
+            /** Enough tuples for the consumer, the rest of the input is not sorted / read **/
+            if (outputBatch != null && reachLimit(outputBatch)) {
+                eos = true;
+                sortedInput.close();
+            }
+            return outputBatch;
+        }
+        if (eos) {
+            close();
+            return null;
+        }
+        Batch outputBatch = Batch.create(schema, batchSize);
+        while (!outputBatch.isFull() && currIndex < topTuples.size()) {
+            outputBatch.add(topTuples.get(currIndex));
+            currIndex += 1;
+        }
+        if (currIndex >= topTuples.size()) {
+            eos = true;
+        }
+        if (outputBatch.isEmpty()) {
+            close();
+            return null;
+        }
+        return outputBatch;
+    }
+
+    // compare two tuples in terms of attrIndex
+    private int compareTuples(Tuple t1, Tuple t2) {
+        for (int index : attrsIndex) {
+            int result = Tuple.compareTuples(t1, t2, index);
+            if (result != 0) {
+                return result;
+            }
+        }
+        return 0;
+    }
+
+    @Override
+    public boolean close() {
+        releaseBuffers();
+        if (sortedInput != null) {
+            return sortedInput.close();
+        }
+        topTuples = null;
+        return true;
+    }
+
+    @Override
+    public Object clone() {
+        Operator newBase = (Operator) base.clone();
+        ArrayList<Attribute> newAttrs = new ArrayList<>();
+        for (int i = 0; i < attrs.size(); i++) {
+            Attribute attribute = (Attribute) attrs.get(i).clone();
+            newAttrs.add(attribute);
+        }
+        OrderBy newOrderBy = new OrderBy(newBase, newAttrs);
+        newOrderBy.setNumBuff(numBuff);
+        newOrderBy.setSchema(newBase.getSchema());
+        newOrderBy.setLimit(limit);
+        newOrderBy.setOffset(offset);
+        return newOrderBy;
+    }
+}
@@ -0,0 +1,118 @@
+package qp.operators;
+
+import qp.utils.*;
+
+import java.io.File;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Partitions - the partition files of a hash based operator (HashJoin, GroupBy, Distinct).
+ * Tuples are spread over the partitions by partitionOf and every partition is processed
+ * on its own afterwards, one that is still too large is partitioned again with a hash
+ * function seeded by the depth, at most MAX_DEPTH times. A partition has one file per
+ * input of the operator, e.g. a left and a right file for a join.
+ */
+class Partitions {
+
+    static final int MAX_DEPTH = 3; // stop repartitioning after this depth
+    private static final AtomicInteger filenum = new AtomicInteger(); // To get unique file names
+
+    private final String prefix; // prefix of the file names
+    private final ArrayList<String> tempfiles = new ArrayList<>(); // every partition file created
+    private final ArrayDeque<int[]> pending = new ArrayDeque<>(); // {partition id, depth} to be processed
+    private final HashMap<Integer, String[]> files = new HashMap<>(); // partition id -> one file per input
+    private int counter = 0; // number of partitions registered so far
+
+    Partitions(String prefix) {
+        this.prefix = prefix;
+    }
+
+    /**
+     * Opens a writer for each of numPartitions new partitions of an input
+     */
+    TupleWriter[] createWriters(int numPartitions, int batchsize) {
+        return createWriters(numPartitions, null, batchsize);
+    }
+
+    /**
+     * Opens a writer for each of numPartitions new partitions of an input,
+     * side tells the inputs of an operator with several ones apart
+     */
+    TupleWriter[] createWriters(int numPartitions, String side, int batchsize) {
+        TupleWriter[] writers = new TupleWriter[numPartitions];
+        int file = filenum.getAndIncrement();
+        for (int i = 0; i < numPartitions; i++) {
+            String filename = prefix + "-" + file + (side == null ? "" : "-" + side) + "-" + (counter + i);
+            tempfiles.add(filename);
+            writers[i] = new TupleWriter(filename, batchsize);
+            writers[i].open();
+        }
+        return writers;
+    }
+
+    /**
+     * Closes the writers, one array for each input, and queues their partitions
+     * to be processed at the given depth. A partition with no tuple on one of
+     * the inputs produces no output and is dropped.
+     */
+    void register(int depth, TupleWriter[]... inputs) {
+        for (int i = 0; i < inputs[0].length; i++) {
+            String[] filenames = new String[inputs.length];
+            boolean empty = false;
+            for (int j = 0; j < inputs.length; j++) {
+                inputs[j][i].close();
+                empty |= inputs[j][i].getNumTuple() == 0;
+                filenames[j] = inputs[j][i].getFileName();
+            }
+            if (empty) {
+                continue;
+            }
+            files.put(counter, filenames);
+            pending.push(new int[]{counter, depth});
+            counter += 1;
+        }
+    }
+
+    boolean isEmpty() {
+        return pending.isEmpty();
+    }
+
+    /**
+     * Takes the next partition to be processed, {partition id, depth}
+     */
+    int[] poll() {
+        return pending.poll();
+    }
+
+    /**
+     * The files of a partition taken by poll, one for each input
+     */
+    String[] filesOf(int partition) {
+        return files.remove(partition);
+    }
+
+    /**
+     * Deletes every partition file and forgets the partitions not processed yet
+     */
+    void clear() {
+        for (String filename : tempfiles) {
+            new File(filename).delete();
+        }
+        tempfiles.clear();
+        pending.clear();
+        files.clear();
+    }
+
+    /**
+     * Hash function used for partitioning, seeded by the recursion depth so that
+     * a repartitioned partition is spread differently from its parent
+     */
+    static int partitionOf(ArrayList<Object> key, int depth, int numPartitions) {
+        int h = key.hashCode() ^ (depth * 0x9E3779B9);
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        return Math.floorMod(h, numPartitions);
+    }
+}
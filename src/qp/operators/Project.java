@@ -6,6 +6,7 @@ package qp.operators;
 
 import qp.utils.Attribute;
 import qp.utils.Batch;
+import qp.utils.ColumnBatch;
 import qp.utils.Schema;
 import qp.utils.Tuple;
 
@@ -23,6 +24,7 @@ public class Project extends Operator {
      **/
     Batch inbatch;
     Batch outbatch;
+    boolean eos;  // Whether the row budget is used up
 
     /**
      * index of the attributes in the base operator
@@ -48,6 +50,13 @@ public class Project extends Operator {
         return attrset;
     }
 
+    /**
+     * The order of the input as far as its attributes are projected
+     **/
+    public ArrayList<Attribute> getSortOrder() {
+        return orderIn(base.getSortOrder(), schema);
+    }
+
 
     /**
      * Opens the connection to the base operator
@@ -58,6 +67,8 @@ public class Project extends Operator {
         /** set number of tuples per batch **/
         int tuplesize = schema.getTupleSize();
         batchsize = Batch.getPageSize() / tuplesize;
+        eos = false;
+        numOutput = 0;
 
         if (!base.open()) return false;
 
@@ -84,7 +95,9 @@ public class Project extends Operator {
      * Read next tuple from operator
      */
     public Batch next() {
-        outbatch = new Batch(batchsize);
+        if (eos) {
+            return null;
+        }
         /** all the tuples in the inbuffer goes to the output buffer **/
         inbatch = base.next();
 
@@ -92,6 +105,25 @@ public class Project extends Operator {
             return null;
         }
 
+        /** a columnar page is projected by sharing the required columns **/
+        if (inbatch instanceof ColumnBatch) {
+            outbatch = ((ColumnBatch) inbatch).project(attrIndex);
+        } else {
+            outbatch = projectTuples();
+        }
+        if (reachLimit(outbatch)) {
+            eos = true;
+            base.close();
+        }
+        return outbatch;
+    }
+
+    /**
+     * Builds the projected tuples of the input page one by one
+     **/
+    private Batch projectTuples() {
+        outbatch = new Batch(batchsize);
+
         for (int i = 0; i < inbatch.size(); i++) {
             Tuple basetuple = inbatch.get(i);
             //Debug.PPrint(basetuple);
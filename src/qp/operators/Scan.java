@@ -5,6 +5,9 @@
 package qp.operators;
 
 import qp.utils.Batch;
+import qp.utils.BufferPool;
+import qp.utils.ColumnBatch;
+import qp.utils.PageLayout;
 import qp.utils.Schema;
 import qp.utils.Tuple;
 
@@ -12,18 +15,42 @@ import java.io.EOFException;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.ObjectInputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 
 /**
  * Scan operator - read data from a file
+ * Tables in the binary page format (see PageLayout) are decoded a whole page at a time,
+ * tables still in the old serialized format are read tuple by tuple.
+ * When memory mapping is enabled the table file is mapped instead of read page by page,
+ * the buffer pool then holds views of the mapping and no page is copied.
+ * Columnar pages, the default, are decoded straight into ColumnBatch arrays, every
+ * column of a record once. Only when columnar pages are disabled (Batch.setColumnar)
+ * does a mapped scan return MappedTuple views that decode their columns lazily.
+ * The disk pages are read through the BufferPool, the page being decoded is pinned.
  */
-public class Scan extends Operator {
+public class Scan extends Operator implements BufferPool.PageStore {
+
+    static boolean memoryMapped = true;  // Whether binary tables are memory mapped
 
     String filename;       // Corresponding file name
     String tabname;        // Table name
     int batchsize;         // Number of tuples per out batch;
-    ObjectInputStream in;  // Input file being scanned
+    ObjectInputStream in;  // Input file being scanned (old serialized format)
     boolean eos;           // To indicate whether end of stream reached or not
 
+    FileChannel channel;   // Input file being scanned (binary page format)
+    PageLayout layout;     // Record layout derived from the schema
+    ByteBuffer page;       // Current disk page
+    MappedByteBuffer mapped;  // The whole table file, if it is memory mapped
+    int numPages;          // Number of data pages in the file
+    int pageNum;           // Next disk page to be read
+    int pinned;            // Disk page pinned in the buffer pool, -1 if none
+    int slot;              // Cursor within the current disk page
+
     /**
      * Constructor - just save filename
      */
@@ -37,6 +64,15 @@ public class Scan extends Operator {
         return tabname;
     }
 
+    /** Enable or disable memory mapping of binary table files **/
+    public static void setMemoryMapped(boolean flag) {
+        memoryMapped = flag;
+    }
+
+    public static boolean isMemoryMapped() {
+        return memoryMapped;
+    }
+
     /**
      * Open file prepare a stream pointer to read input file
      */
@@ -45,8 +81,36 @@ public class Scan extends Operator {
         int tuplesize = schema.getTupleSize();
         batchsize = Batch.getPageSize() / tuplesize;
         eos = false;
+        numOutput = 0;
+        channel = null;
+        in = null;
         try {
-            in = new ObjectInputStream(new FileInputStream(filename));
+            FileChannel fc = FileChannel.open(Paths.get(filename), StandardOpenOption.READ);
+            ByteBuffer magic = ByteBuffer.allocate(4);
+            fc.read(magic, 0);
+            if (magic.getInt(0) != PageLayout.MAGIC) {
+                fc.close();
+                in = new ObjectInputStream(new FileInputStream(filename));
+                return true;
+            }
+            channel = fc;
+            ByteBuffer header = ByteBuffer.allocate(PageLayout.FILE_HEADER_SIZE);
+            channel.read(header, 0);
+            layout = new PageLayout(schema, PageLayout.headerPageSize(header));
+            if (!layout.checkHeader(header)) {
+                System.err.println("Scan: " + filename + " does not match the schema of " + tabname);
+                return false;
+            }
+            numPages = PageLayout.headerNumPages(header);
+            long mappedSize = layout.pagePosition(numPages);
+            mapped = null;
+            if (memoryMapped && mappedSize <= Integer.MAX_VALUE) {
+                mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, mappedSize);
+            }
+            page = null;
+            pageNum = 0;
+            pinned = -1;
+            slot = 0;
         } catch (Exception e) {
             System.err.println(" Error reading " + filename);
             return false;
@@ -54,6 +118,54 @@ public class Scan extends Operator {
         return true;
     }
 
+    /**
+     * Pin the next disk page in the buffer pool, the current one is unpinned
+     **/
+    private boolean nextDiskPage() {
+        unpinPage();
+        if (pageNum >= numPages) {
+            return false;
+        }
+        page = (ByteBuffer) BufferPool.getPool().pin(filename, pageNum, this);
+        pinned = pageNum;
+        pageNum++;
+        slot = 0;
+        return true;
+    }
+
+    private void unpinPage() {
+        if (pinned >= 0) {
+            BufferPool.getPool().unpin(filename, pinned, false);
+            pinned = -1;
+        }
+    }
+
+    /**
+     * Read a disk page of the table for the buffer pool. The pages are only
+     * * read, never modified, so the threads using a page can share it
+     **/
+    @Override
+    public Object readPage(int num) throws IOException {
+        long position = layout.pagePosition(num);
+        if (mapped != null) {
+            /** a view of the mapped region, nothing is copied **/
+            ByteBuffer view = mapped.duplicate();
+            view.position((int) position);
+            view.limit((int) position + layout.getPageSize());
+            return view.slice();
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(layout.getPageSize());
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) break;
+        }
+        return buffer;
+    }
+
+    @Override
+    public void writePage(int num, Object data) throws IOException {
+        throw new IOException("Scan: " + filename + " is read only");
+    }
+
     /**
      * Next operator - get a tuple from the file
      **/
@@ -63,6 +175,19 @@ public class Scan extends Operator {
             close();
             return null;
         }
+        Batch tuples = channel != null ? nextPage() : nextObjects();
+        /** the consumer needs no more tuples, the file is released right away **/
+        if (reachLimit(tuples)) {
+            eos = true;
+            close();
+        }
+        return tuples;
+    }
+
+    /**
+     * Read tuples one by one from a table in the old serialized format
+     **/
+    private Batch nextObjects() {
         Batch tuples = new Batch(batchsize);
         while (!tuples.isFull()) {
             try {
@@ -85,13 +210,43 @@ public class Scan extends Operator {
         return tuples;
     }
 
+    /**
+     * Decode tuples from the disk pages until the output batch is full
+     * * with columnar pages the records are decoded straight into the column arrays,
+     * * mapped pages are only viewed lazily by row pages
+     **/
+    private Batch nextPage() {
+        Batch tuples = Batch.create(schema, batchsize);
+        ColumnBatch columns = tuples instanceof ColumnBatch ? (ColumnBatch) tuples : null;
+        while (!tuples.isFull()) {
+            if (page == null || slot >= layout.numSlots(page)) {
+                if (!nextDiskPage()) {
+                    eos = true;
+                    return tuples;
+                }
+                continue;
+            }
+            if (columns != null) {
+                columns.addRecord(layout, page, layout.slotOffset(page, slot));
+            } else if (mapped != null) {
+                tuples.add(layout.viewTuple(page, slot));
+            } else {
+                tuples.add(layout.readTuple(page, slot));
+            }
+            slot++;
+        }
+        return tuples;
+    }
+
     /**
      * Close the file.. This routine is called when the end of filed
      * * is already reached
      **/
     public boolean close() {
+        unpinPage();
         try {
-            in.close();
+            if (channel != null) channel.close();
+            if (in != null) in.close();
         } catch (IOException e) {
             System.err.println("Scan: Error closing " + filename);
             return false;
@@ -99,6 +254,20 @@ public class Scan extends Operator {
         return true;
     }
 
+    /**
+     * The table file is simply scanned again
+     **/
+    @Override
+    public boolean isRescannable() {
+        return true;
+    }
+
+    @Override
+    public boolean rewind() {
+        close();
+        return open();
+    }
+
     public Object clone() {
         String newtab = tabname;
         Scan newscan = new Scan(newtab, optype);
@@ -6,10 +6,21 @@ package qp.operators;
 
 import qp.utils.*;
 
+import java.util.ArrayList;
+
+/**
+ * Select operator - keeps the tuples satisfying all of its conditions.
+ * The conditions are evaluated one after another on each input page, a tuple
+ * failing one of them is not tested against the rest. They start in the
+ * order chosen by PlanCost (most selective first) and are reordered from the
+ * pass rates observed while the query runs.
+ */
 public class Select extends Operator {
 
+    static final int REORDER_INTERVAL = 8;  // Number of input pages between reorderings
+
     Operator base;  // Base operator
-    Condition con;  // Select condition
+    ArrayList<Condition> conditionList;  // Select conditions, all have to hold
     int batchsize;  // Number of tuples per outbatch
 
     /**
@@ -19,7 +30,13 @@ public class Select extends Operator {
     boolean eos;     // Indicate whether end of stream is reached or not
     Batch inbatch;   // This is the current input buffer
     Batch outbatch;  // This is the current output buffer
-    int start;       // Cursor position in the input buffer
+    int start;       // Cursor position in the list of qualifying tuples
+    Predicate[] predicates;  // Conditions compiled against the schema, in evaluation order
+    long[] tested;   // Number of tuples tested by each predicate
+    long[] kept;     // Number of tuples that satisfied each predicate
+    int numPages;    // Number of input pages filtered since the last reordering
+    int[] passed;    // Positions of the qualifying tuples in the input buffer
+    int numPassed;   // Number of qualifying tuples in the input buffer
 
     /**
      * constructor
@@ -27,7 +44,14 @@ public class Select extends Operator {
     public Select(Operator base, Condition con, int type) {
         super(type);
         this.base = base;
-        this.con = con;
+        conditionList = new ArrayList<>();
+        conditionList.add(con);
+    }
+
+    public Select(Operator base, ArrayList<Condition> conditionList, int type) {
+        super(type);
+        this.base = base;
+        this.conditionList = conditionList;
     }
 
     public Operator getBase() {
@@ -39,23 +63,42 @@ public class Select extends Operator {
     }
 
     public Condition getCondition() {
-        return con;
+        assert (conditionList.size() > 0);
+        return conditionList.get(0);
     }
 
     public void setCondition(Condition cn) {
-        this.con = cn;
+        conditionList = new ArrayList<>();
+        conditionList.add(cn);
+    }
+
+    public ArrayList<Condition> getConditionList() {
+        return conditionList;
+    }
+
+    public void setConditionList(ArrayList<Condition> conditionList) {
+        this.conditionList = conditionList;
+    }
+
+    public void addCondition(Condition cn) {
+        conditionList.add(cn);
     }
 
     /**
      * Opens the connection to the base operator
+     * * the condition is compiled once against the schema here
      **/
     public boolean open() {
         eos = false;  // Since the stream is just opened
         start = 0;    // Set the cursor to starting position in input buffer
+        numPassed = 0;
+        numOutput = 0;
 
         /** Set number of tuples per page**/
         int tuplesize = schema.getTupleSize();
         batchsize = Batch.getPageSize() / tuplesize;
+        compile();
+        passed = new int[batchsize];
 
         if (base.open())
             return true;
@@ -76,7 +119,7 @@ public class Select extends Operator {
         }
 
         /** An output buffer is initiated **/
-        outbatch = new Batch(batchsize);
+        outbatch = Batch.create(schema, batchsize);
 
         /** keep on checking the incoming pages until
          ** the output buffer is full
@@ -87,30 +130,46 @@ public class Select extends Operator {
                 /** There is no more incoming pages from base operator **/
                 if (inbatch == null) {
                     eos = true;
-                    return outbatch;
+                    break;
+                }
+                /** The whole page is filtered at once **/
+                if (passed.length < inbatch.size()) {
+                    passed = new int[inbatch.size()];
+                }
+                numPassed = filter(inbatch);
+                /** Most of a columnar page qualifies and no tuple is waiting to be output:
+                 ** the page is passed on with a selection vector instead of copying the rows
+                 **/
+                if (outbatch.isEmpty() && inbatch instanceof ColumnBatch && 2 * numPassed >= batchsize) {
+                    outbatch = ((ColumnBatch) inbatch).select(passed, numPassed);
+                    break;
                 }
             }
 
-            /** Continue this for loop until this page is fully observed
-             ** or the output buffer is full
+            /** Continue this for loop until the qualifying tuples of this
+             ** page are all added or the output buffer is full
              **/
-            for (i = start; i < inbatch.size() && (!outbatch.isFull()); ++i) {
-                Tuple present = inbatch.get(i);
-                /** If the condition is satisfied then
-                 ** this tuple is added tot he output buffer
-                 **/
-                if (checkCondition(present))
-                    outbatch.add(present);
+            for (i = start; i < numPassed && (!outbatch.isFull()); ++i) {
+                if (outbatch instanceof ColumnBatch && inbatch instanceof ColumnBatch) {
+                    ((ColumnBatch) outbatch).addRow((ColumnBatch) inbatch, passed[i]);
+                } else {
+                    outbatch.add(inbatch.get(passed[i]));
+                }
             }
 
             /** Modify the cursor to the position requierd
              ** when the base operator is called next time;
              **/
-            if (i == inbatch.size())
+            if (i == numPassed)
                 start = 0;
             else
                 start = i;
         }
+        /** Enough tuples for the consumer, the input is not read any further **/
+        if (reachLimit(outbatch)) {
+            eos = true;
+            base.close();
+        }
         return outbatch;
     }
 
@@ -124,105 +183,98 @@ public class Select extends Operator {
     }
 
     /**
-     * To check whether the selection condition is satisfied for
+     * Compiles the conditions in the order given by the optimizer
+     **/
+    private void compile() {
+        predicates = new Predicate[conditionList.size()];
+        for (int i = 0; i < predicates.length; ++i) {
+            predicates[i] = Predicate.compile(conditionList.get(i), schema);
+        }
+        tested = new long[predicates.length];
+        kept = new long[predicates.length];
+        numPages = 0;
+    }
+
+    /**
+     * Finds the qualifying tuples of the page, each predicate only
+     * * looks at the tuples that passed the previous ones
+     **/
+    private int filter(Batch batch) {
+        int n = batch.size();
+        for (int i = 0; i < n; ++i) {
+            passed[i] = i;
+        }
+        for (int p = 0; p < predicates.length && n > 0; ++p) {
+            tested[p] += n;
+            n = predicates[p].filter(batch, passed, n);
+            kept[p] += n;
+        }
+        if (++numPages == REORDER_INTERVAL) {
+            reorder();
+        }
+        return n;
+    }
+
+    /**
+     * Moves the predicates with the lowest observed pass rate to the front.
+     * * The counts are halved afterwards so that the order follows changes
+     * * in the data rather than the whole history
+     **/
+    private void reorder() {
+        for (int i = 1; i < predicates.length; ++i) {
+            for (int j = i; j > 0 && passRate(j) < passRate(j - 1); --j) {
+                Predicate p = predicates[j];
+                predicates[j] = predicates[j - 1];
+                predicates[j - 1] = p;
+                long t = tested[j];
+                tested[j] = tested[j - 1];
+                tested[j - 1] = t;
+                long k = kept[j];
+                kept[j] = kept[j - 1];
+                kept[j - 1] = k;
+            }
+        }
+        for (int i = 0; i < predicates.length; ++i) {
+            tested[i] /= 2;
+            kept[i] /= 2;
+        }
+        numPages = 0;
+    }
+
+    /** Fraction of the tested tuples that passed, predicates not yet reached keep their place **/
+    private double passRate(int p) {
+        if (tested[p] == 0) return 1.0;
+        return (double) kept[p] / tested[p];
+    }
+
+    /**
+     * To check whether the selection conditions are satisfied for
      * * the present tuple
      **/
     protected boolean checkCondition(Tuple tuple) {
-        Attribute attr = con.getLhs();
-        int index = schema.indexOf(attr);
-        int datatype = schema.typeOf(attr);
-        Object srcValue = tuple.dataAt(index);
-        int exprtype = con.getExprType();
-
-        if (datatype == Attribute.INT) {
-            int srcVal = ((Integer) srcValue).intValue();
-            int checkVal = 0;
-            if (con.getRhs() instanceof String) {
-                checkVal = Integer.parseInt((String) con.getRhs());
-            } else if (con.getRhs() instanceof Attribute) {
-                checkVal = ((Integer) tuple.dataAt(schema.indexOf((Attribute) con.getRhs()))).intValue();
-            } else {
-                System.out.println("Select: Malformed condition");
-            }
-            if (exprtype == Condition.LESSTHAN) {
-                if (srcVal < checkVal)
-                    return true;
-            } else if (exprtype == Condition.GREATERTHAN) {
-                if (srcVal > checkVal)
-                    return true;
-            } else if (exprtype == Condition.LTOE) {
-                if (srcVal <= checkVal)
-                    return true;
-            } else if (exprtype == Condition.GTOE) {
-                if (srcVal >= checkVal)
-                    return true;
-            } else if (exprtype == Condition.EQUAL) {
-                if (srcVal == checkVal)
-                    return true;
-            } else if (exprtype == Condition.NOTEQUAL) {
-                if (srcVal != checkVal)
-                    return true;
-            } else {
-                System.out.println("Select: Incorrect condition operator");
-            }
-        } else if (datatype == Attribute.STRING) {
-            String srcVal = (String) srcValue;
-            int flag = 0;
-            if (con.getRhs() instanceof String) {
-                flag = srcVal.compareTo((String) con.getRhs());
-            } else if (con.getRhs() instanceof Attribute) {
-                flag = srcVal.compareTo(((String) tuple.dataAt(schema.indexOf((Attribute) con.getRhs()))));
-            } else {
-                System.out.println("Select: Malformed condition");
-            }
-            if (exprtype == Condition.LESSTHAN) {
-                if (flag < 0) return true;
-            } else if (exprtype == Condition.GREATERTHAN) {
-                if (flag > 0) return true;
-            } else if (exprtype == Condition.LTOE) {
-                if (flag <= 0) return true;
-            } else if (exprtype == Condition.GTOE) {
-                if (flag >= 0) return true;
-            } else if (exprtype == Condition.EQUAL) {
-                if (flag == 0) return true;
-            } else if (exprtype == Condition.NOTEQUAL) {
-                if (flag != 0) return true;
-            } else {
-                System.out.println("Select: Incorrect condition operator");
-            }
-        } else if (datatype == Attribute.REAL) {
-            float srcVal = ((Float) srcValue).floatValue();
-            float checkVal = 0;
-            if (con.getRhs() instanceof String) {
-                checkVal = Float.parseFloat((String) con.getRhs());
-            } else if (con.getRhs() instanceof Attribute) {
-                checkVal = ((Float) tuple.dataAt(schema.indexOf((Attribute) con.getRhs()))).floatValue();
-            } else {
-                System.out.println("Select: Malformed condition");
-            }
-            if (exprtype == Condition.LESSTHAN) {
-                if (srcVal < checkVal) return true;
-            } else if (exprtype == Condition.GREATERTHAN) {
-                if (srcVal > checkVal) return true;
-            } else if (exprtype == Condition.LTOE) {
-                if (srcVal <= checkVal) return true;
-            } else if (exprtype == Condition.GTOE) {
-                if (srcVal >= checkVal) return true;
-            } else if (exprtype == Condition.EQUAL) {
-                if (srcVal == checkVal) return true;
-            } else if (exprtype == Condition.NOTEQUAL) {
-                if (srcVal != checkVal) return true;
-            } else {
-                System.out.println("Select: Incorrect condition operator");
-            }
+        if (predicates == null) {
+            compile();
+        }
+        for (Predicate p : predicates) {
+            if (!p.test(tuple)) return false;
         }
-        return false;
+        return true;
+    }
+
+    /**
+     * Selection keeps the order of the input
+     **/
+    public ArrayList<Attribute> getSortOrder() {
+        return base.getSortOrder();
     }
 
     public Object clone() {
         Operator newbase = (Operator) base.clone();
-        Condition newcon = (Condition) con.clone();
-        Select newsel = new Select(newbase, newcon, optype);
+        ArrayList<Condition> newcondlist = new ArrayList<>();
+        for (Condition cond : conditionList) {
+            newcondlist.add((Condition) cond.clone());
+        }
+        Select newsel = new Select(newbase, newcondlist, optype);
         newsel.setSchema((Schema) newbase.getSchema().clone());
         return newsel;
     }
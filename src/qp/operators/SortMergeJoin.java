@@ -2,14 +2,23 @@ package qp.operators;
 
 import qp.utils.*;
 
+import java.io.File;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Sort Merge Join Algorithm
+ * Both inputs are sorted on all the join attributes. The right tuples with equal join
+ * values (a partition) are kept in memory up to numBuff - 3 pages, the rest of a larger
+ * partition is written to a temporary file and read again for every matching left tuple.
  */
 public class SortMergeJoin extends Join {
 
+    private static final AtomicInteger filenum = new AtomicInteger(); // To get unique filenum for this operation
+
     private int batchsize; // the number of tuple each page
+    private int rightbatchsize; // the number of right tuples each page
+    private int partitioncapacity; // the number of right tuples of a partition kept in memory
     private ArrayList<Integer> leftindex; // Indices of the join attributes in left table
     private ArrayList<Integer> rightindex; // Indices of the join attributes in right table
     private Batch leftbatch; // Buffer page for left input stream
@@ -17,7 +26,9 @@ public class SortMergeJoin extends Join {
     private Tuple lefttuple = null;
     private Tuple righttuple = null;
 
-    private ArrayList<Tuple> rightpartition = new ArrayList<>();
+    private ArrayList<Tuple> rightpartition = new ArrayList<>(); // in-memory part of the current right partition
+    private TupleWriter spillwriter = null; // rest of the current right partition, null if it fits in memory
+    private TupleReader spillreader = null; // reader of the spilled part while it is scanned
     private int currrightindex = 0; // current right tuple index
     private Tuple nextrighttuple = null; // next right tuple
 
@@ -25,6 +36,7 @@ public class SortMergeJoin extends Join {
     private int rcurs = 0; // Cursor for right side buffer
     private boolean eosl = false; // Whether end of stream (left table) is reached
     private boolean eosr = false; // Whether end of stream (right table) is reached
+    private boolean started = false; // Whether the first tuples of both inputs have been read
 
     public SortMergeJoin(Join jn) {
         super(jn.getLeft(), jn.getRight(), jn.getConditionList(), jn.getOpType());
@@ -35,9 +47,21 @@ public class SortMergeJoin extends Join {
 
     @Override
     public boolean open() {
+        /** the grant is shared with the sorts of the inputs below **/
+        takeBuffers(numBuff);
         left.open();
         right.open();
         batchsize = Batch.getPageSize() / schema.getTupleSize();
+        rightbatchsize = Batch.getPageSize() / right.getSchema().getTupleSize();
+        /** one page each for the left input, the right input and the output **/
+        partitioncapacity = Math.max(1, numBuff - 3) * rightbatchsize;
+        numOutput = 0;
+        started = false;
+        eosl = false;
+        eosr = false;
+        lcurs = 0;
+        rcurs = 0;
+        nextrighttuple = null;
 
         leftindex = new ArrayList<>();
         rightindex = new ArrayList<>();
@@ -60,7 +84,9 @@ public class SortMergeJoin extends Join {
             return null;
         }
 
-        if (leftbatch == null) {
+        /** the pages are null again once an input is used up, so they cannot tell whether it was started **/
+        if (!started) {
+            started = true;
             leftbatch = left.next();
             if (leftbatch == null) {
                 eosl = true;
@@ -71,32 +97,25 @@ public class SortMergeJoin extends Join {
                 eosl = true;
                 return null;
             }
-        }
-        if (rightbatch == null) {
             rightbatch = right.next();
             if (rightbatch == null) {
                 eosr = true;
                 return null;
             }
-            rightpartition = getNextRightPartition();
-            if (rightpartition.isEmpty()) {
+            if (!nextRightPartition()) {
                 eosr = true;
                 return null;
             }
-            currrightindex = 0;
-            righttuple = rightpartition.get(currrightindex);
         }
 
-        Batch outputbatch = new Batch(batchsize);
+        Batch outputbatch = Batch.create(schema, batchsize);
         while (!outputbatch.isFull()) {
             int result = compareTuples(lefttuple, righttuple, leftindex, rightindex);
             if (result == 0) {
-                outputbatch.add(lefttuple.joinWith(righttuple));
+                outputbatch.addJoined(lefttuple, righttuple);
 
-                if (currrightindex < rightpartition.size() - 1) { // scan next right tuple
-                    currrightindex += 1;
-                    righttuple = rightpartition.get(currrightindex);
-                } else { // scan next left tuple
+                righttuple = nextPartitionTuple();
+                if (righttuple == null) { // end of the right partition, scan next left tuple
                     Tuple nextlefttuple = getNextLeftTuple();
                     if (nextlefttuple == null) {
                         eosl = true;
@@ -106,27 +125,17 @@ public class SortMergeJoin extends Join {
                     lefttuple = nextlefttuple;
 
                     if (result == 0) { // if the next left tuple is the same, then scan right partition again
-                        currrightindex = 0;
-                        righttuple = rightpartition.get(0);
-                    } else { // move to next right partition
-                        rightpartition = getNextRightPartition();
-                        if (rightpartition.isEmpty()) {
-                            eosr = true;
-                            break;
-                        }
-                        currrightindex = 0;
-                        righttuple = rightpartition.get(currrightindex);
+                        righttuple = rescanPartition();
+                    } else if (!nextRightPartition()) { // move to next right partition
+                        eosr = true;
+                        break;
                     }
                 }
             } else if (result > 0) {
-                rightpartition = getNextRightPartition();
-                if (rightpartition.isEmpty()) {
+                if (!nextRightPartition()) {
                     eosr = true;
                     break;
                 }
-                currrightindex = 0;
-                righttuple = rightpartition.get(currrightindex);
-
             } else {
                 lefttuple = getNextLeftTuple();
                 if (lefttuple == null) {
@@ -135,6 +144,11 @@ public class SortMergeJoin extends Join {
                 }
             }
         }
+        /** Enough tuples for the consumer, the sorted inputs are closed **/
+        if (reachLimit(outputbatch)) {
+            eosl = true;
+            close();
+        }
         return outputbatch;
     }
 
@@ -151,27 +165,95 @@ public class SortMergeJoin extends Join {
     }
 
     /**
-     * Get next right partition
+     * Reads the next right partition and sets righttuple to its first tuple.
+     * Tuples beyond the partition capacity are written to a temporary file.
+     *
+     * @return false if there is no more right tuple
      */
-    private ArrayList<Tuple> getNextRightPartition() {
-        ArrayList<Tuple> rightpartition = new ArrayList<>();
-        int result = 0;
+    private boolean nextRightPartition() {
+        clearPartition();
         if (nextrighttuple == null) {
             nextrighttuple = getNextRightTuple();
             if (nextrighttuple == null) {
-                return rightpartition;
+                return false;
             }
         }
+        Tuple firstElement = nextrighttuple;
+        int result = 0;
         while (result == 0) {
-            rightpartition.add(nextrighttuple);
+            if (rightpartition.size() < partitioncapacity) {
+                rightpartition.add(nextrighttuple);
+            } else {
+                if (spillwriter == null) {
+                    spillwriter = new TupleWriter("SMJtemp-" + filenum.getAndIncrement(), rightbatchsize);
+                    if (!spillwriter.open()) {
+                        System.out.println("SortMergeJoin: Error in writing temporary file");
+                        System.exit(1);
+                    }
+                }
+                spillwriter.next(nextrighttuple);
+            }
             nextrighttuple = getNextRightTuple();
             if (nextrighttuple == null) {
                 break;
             }
-            Tuple firstElement = rightpartition.get(0);
             result = compareTuples(firstElement, nextrighttuple, rightindex, rightindex);
         }
-        return rightpartition;
+        if (spillwriter != null) {
+            spillwriter.close();
+        }
+        righttuple = rescanPartition();
+        return true;
+    }
+
+    /**
+     * Starts scanning the current right partition again, returns its first tuple
+     */
+    private Tuple rescanPartition() {
+        if (spillreader != null) {
+            spillreader.close();
+            spillreader = null;
+        }
+        currrightindex = 0;
+        return rightpartition.get(0);
+    }
+
+    /**
+     * Next tuple of the current right partition, null at its end
+     */
+    private Tuple nextPartitionTuple() {
+        if (currrightindex < rightpartition.size() - 1) {
+            currrightindex += 1;
+            return rightpartition.get(currrightindex);
+        }
+        if (spillwriter == null) {
+            return null;
+        }
+        if (spillreader == null) {
+            spillreader = new TupleReader(spillwriter.getFileName(), rightbatchsize);
+            if (!spillreader.open()) {
+                System.out.println("SortMergeJoin: Error in reading temporary file");
+                System.exit(1);
+            }
+        }
+        return spillreader.next();
+    }
+
+    /**
+     * Drops the current right partition and its temporary file
+     */
+    private void clearPartition() {
+        rightpartition = new ArrayList<>();
+        currrightindex = 0;
+        if (spillreader != null) {
+            spillreader.close();
+            spillreader = null;
+        }
+        if (spillwriter != null) {
+            spillwriter.close();
+            new File(spillwriter.getFileName()).delete();
+            spillwriter = null;
+        }
     }
 
     /**
@@ -215,6 +297,8 @@ public class SortMergeJoin extends Join {
 
     @Override
     public boolean close() {
+        releaseBuffers();
+        clearPartition();
         right.close();
         left.close();
         return super.close();
@@ -1,30 +1,46 @@
 /**
- * simple buffer manager that distributes the buffers equally among all the join operators
+ * buffer manager that distributes the buffers among the operators of a plan
  **/
 
 package qp.optimizer;
 
+import qp.utils.BufferPool;
+import qp.utils.MemoryBroker;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.function.IntUnaryOperator;
+
 public class BufferManager {
 
+    static final int MINBUFFERS = 3;  // Fewest buffers an operator can work with
+    static final int NUMSTEPS = 64;   // The buffers are distributed in about as many steps
+    static final int POOLSHARE = 8;   // One in as many buffers caches pages in the BufferPool
+
     static int numBuffer;
     static int numJoin;
+    static int numPool;
 
     static int buffPerJoin;
 
     /**
-     * BufferManager Constructor
+     * BufferManager Constructor. The BufferPool gets its share of the buffers
+     * * first, as long as every join keeps MINBUFFERS, the operators share the rest
      *
      * @param numBuffer total number of buffers
      * @param numJoin   total number of Join operators
      */
     public BufferManager(int numBuffer, int numJoin) {
-        this.numBuffer = numBuffer;
+        this.numPool = Math.max(0, Math.min(numBuffer / POOLSHARE, numBuffer - MINBUFFERS * Math.max(1, numJoin)));
+        this.numBuffer = numBuffer - numPool;
         this.numJoin = numJoin;
         if (numJoin == 0) {
-            buffPerJoin = numBuffer;
+            buffPerJoin = this.numBuffer;
         } else {
-            buffPerJoin = numBuffer / numJoin;
+            buffPerJoin = this.numBuffer / numJoin;
         }
+        BufferPool.getPool().setCapacity(numPool);
+        MemoryBroker.setNumBuffer(this.numBuffer);
     }
 
     /**
@@ -36,4 +52,85 @@ public class BufferManager {
         return buffPerJoin;
     }
 
+    public static int getNumBuffers() {
+        return numBuffer;
+    }
+
+    /**
+     * Distributes the buffers among the operators of a plan that need them.
+     * * Every operator gets MINBUFFERS first, then the buffers go step by step
+     * * to the operator whose cost falls the most per extra buffer, until no
+     * * operator gets cheaper. A step is at least numBuffer / NUMSTEPS buffers,
+     * * unless fewer are enough for the same cost. The buffers left over are free to be borrowed
+     * * at runtime (see MemoryBroker). If there are too few buffers for that,
+     * * every operator gets the buffers per join
+     *
+     * @param costs cost of each operator as a function of its number of buffers,
+     *              not increasing with the number of buffers
+     * @return number of buffers of each operator
+     */
+    public static int[] distribute(ArrayList<IntUnaryOperator> costs) {
+        int numop = costs.size();
+        int[] grants = new int[numop];
+        if (numBuffer < MINBUFFERS * numop) {
+            Arrays.fill(grants, buffPerJoin);
+            return grants;
+        }
+        Arrays.fill(grants, MINBUFFERS);
+        int free = numBuffer - MINBUFFERS * numop;
+        int unit = Math.max(1, numBuffer / NUMSTEPS);
+        int[] current = new int[numop];
+        for (int i = 0; i < numop; i++) {
+            current[i] = costs.get(i).applyAsInt(MINBUFFERS);
+        }
+        while (free > 0) {
+            int best = -1;
+            int bestgrant = 0;
+            double bestgain = 0;
+            for (int i = 0; i < numop; i++) {
+                IntUnaryOperator cost = costs.get(i);
+                int limit = grants[i] + free;
+                /** candidates grow geometrically, the whole free buffers last **/
+                int candidate = grants[i];
+                for (int step = unit; candidate < limit; step *= 2) {
+                    candidate = Math.min(grants[i] + step, limit);
+                    int newcost = cost.applyAsInt(candidate);
+                    if (newcost < current[i]) {
+                        int grant = getLeastGrant(cost, grants[i], candidate, newcost);
+                        double gain = (double) (current[i] - newcost) / (grant - grants[i]);
+                        if (gain > bestgain) {
+                            best = i;
+                            bestgrant = grant;
+                            bestgain = gain;
+                        }
+                    }
+                }
+            }
+            if (best < 0) {
+                break;
+            }
+            free -= bestgrant - grants[best];
+            grants[best] = bestgrant;
+            current[best] = costs.get(best).applyAsInt(bestgrant);
+        }
+        return grants;
+    }
+
+    /**
+     * Fewest buffers above from, at most to, for which the cost is newcost
+     **/
+    private static int getLeastGrant(IntUnaryOperator cost, int from, int to, int newcost) {
+        int low = from + 1;
+        int high = to;
+        while (low < high) {
+            int mid = (low + high) / 2;
+            if (cost.applyAsInt(mid) <= newcost) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return high;
+    }
+
 }
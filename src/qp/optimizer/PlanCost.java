@@ -6,24 +6,27 @@
 package qp.optimizer;
 
 import qp.operators.Distinct;
+import qp.operators.ExternalSort;
 import qp.operators.GroupBy;
 import qp.operators.Join;
 import qp.operators.JoinType;
 import qp.operators.OpType;
 import qp.operators.Operator;
+import qp.operators.OrderBy;
 import qp.operators.Project;
 import qp.operators.Scan;
 import qp.operators.Select;
 import qp.utils.Attribute;
 import qp.utils.Batch;
+import qp.utils.Catalog;
 import qp.utils.Condition;
+import qp.utils.Histogram;
 import qp.utils.Schema;
 
-import java.io.BufferedReader;
-import java.io.FileReader;
-import java.io.IOException;
+import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.StringTokenizer;
+import java.util.function.IntConsumer;
+import java.util.function.IntUnaryOperator;
 
 public class PlanCost {
 
@@ -43,11 +46,26 @@ public class PlanCost {
      **/
     HashMap<Attribute, Integer> ht;
 
+    /**
+     * Histogram of the values of each attribute, if the
+     * * statistics file of its table has one
+     **/
+    HashMap<Attribute, Histogram> hist;
+
+    /**
+     * The operators needing buffers: the I/O cost of each one as a
+     * * function of its number of buffers, and how it gets them. The
+     * * buffers are distributed once the whole plan is costed
+     **/
+    ArrayList<IntUnaryOperator> demands;
+    ArrayList<IntConsumer> grants;
+
     /**
      * PlanCost constructor
      */
     public PlanCost() {
         ht = new HashMap<>();
+        hist = new HashMap<>();
         cost = 0;
     }
 
@@ -56,14 +74,41 @@ public class PlanCost {
      **/
     public int getCost(Operator root) {
         isFeasible = true;
+        demands = new ArrayList<>();
+        grants = new ArrayList<>();
         numtuple = calculateCost(root);
         if (isFeasible) {
+            distributeBuffers();
             return cost;
         } else {
             return Integer.MAX_VALUE;
         }
     }
 
+    /**
+     * Records an operator needing buffers
+     *
+     * @param demand I/O cost of the operator by number of buffers
+     * @param grant  sets the number of buffers of the operator
+     **/
+    private void addDemand(IntUnaryOperator demand, IntConsumer grant) {
+        demands.add(demand);
+        grants.add(grant);
+    }
+
+    /**
+     * Distributes the buffers among the operators of the plan so as to
+     * * make the plan cheapest (see BufferManager.distribute), each one
+     * * is given its buffers and its cost at that number is added
+     **/
+    private void distributeBuffers() {
+        int[] numbuffs = BufferManager.distribute(demands);
+        for (int i = 0; i < demands.size(); i++) {
+            cost += demands.get(i).applyAsInt(numbuffs[i]);
+            grants.get(i).accept(numbuffs[i]);
+        }
+    }
+
     /**
      * Returns number of tuples in the root
      **/
@@ -80,6 +125,8 @@ public class PlanCost {
             return getStatistics((Distinct) node);
         } else if (node.getOpType() == OpType.GROUPBY) {
             return getStatistics((GroupBy) node);
+        } else if (node.getOpType() == OpType.ORDERBY) {
+            return getStatistics((OrderBy) node);
         }
         return -1;
     }
@@ -99,7 +146,57 @@ public class PlanCost {
      * @return tuple number after DISTINCT.
      */
     private int getStatistics(Distinct node) {
-        return calculate(node.getBase());
+        int intuples = calculateCost(node.getBase());
+        if (!isFeasible) {
+            return Integer.MAX_VALUE;
+        }
+        Schema schema = node.getSchema();
+
+        /** Number of distinct tuples, assuming the attributes are independent **/
+        double distinct = 1;
+        for (Attribute attr : node.getDistinctList()) {
+            int index = schema.indexOf(attr);
+            distinct *= ht.get(schema.getAttribute(index));
+        }
+        int outtuples = (int) Math.ceil(Math.min(distinct, intuples));
+
+        int capacity = Math.max(1, Batch.getPageSize() / schema.getTupleSize());
+        int inpages = (int) Math.ceil(1.0 * intuples / capacity);
+        int outpages = (int) Math.ceil(1.0 * outtuples / capacity);
+
+        /** Hashing needs no I/O if the distinct tuples fit in numbuff - 2 pages,
+         ** otherwise the input is partitioned (read + write) once per pass
+         ** until every partition fits
+         **/
+        IntUnaryOperator hashcost = numbuff -> {
+            if (outpages <= numbuff - 2) {
+                return 0;
+            }
+            int numOfPartitionPasses = (int) Math.ceil(Math.log(1.0 * outpages / (numbuff - 2)) / Math.log(numbuff - 1));
+            return 2 * inpages * numOfPartitionPasses;
+        };
+        IntUnaryOperator sortcost = numbuff -> getSortCost(inpages, numbuff);
+
+        /** equal tuples that are already adjacent only need to be compared with their neighbour.
+         ** The variant is picked with an equal share of the buffers, as the operators
+         ** above depend on its output order, the buffers it gets are its share of the plan
+         **/
+        int share = BufferManager.getBuffersPerJoin();
+        if (node.isPresorted()) {
+            node.setDistinctType(Distinct.SORT);
+        } else if (hashcost.applyAsInt(share) <= sortcost.applyAsInt(share)) {
+            node.setDistinctType(Distinct.HASH);
+            addDemand(hashcost, node::setNumBuff);
+        } else {
+            node.setDistinctType(Distinct.SORT);
+            addDemand(sortcost, node::setNumBuff);
+        }
+
+        for (int i = 0; i < schema.getNumCols(); ++i) {
+            Attribute attr = schema.getAttribute(i);
+            ht.put(attr, Math.min(ht.get(attr), outtuples));
+        }
+        return outtuples;
     }
 
     /**
@@ -109,7 +206,61 @@ public class PlanCost {
      * @return tuple number after GROUPBY.
      */
     private int getStatistics(GroupBy node) {
-        return calculate(node.getBase());
+        int intuples = calculateCost(node.getBase());
+        if (!isFeasible) {
+            return Integer.MAX_VALUE;
+        }
+        Schema baseschema = node.getBase().getSchema();
+
+        /** Number of groups, assuming the grouping attributes are independent **/
+        double groups = 1;
+        for (Attribute attr : node.getGroupByList()) {
+            int index = baseschema.indexOf(attr);
+            groups *= ht.get(baseschema.getAttribute(index));
+        }
+        int outtuples = (int) Math.ceil(Math.min(groups, intuples));
+
+        /** Hash aggregation needs no I/O if the groups fit in numbuff - 2 pages,
+         ** otherwise the tuples of the groups that do not fit are written once
+         ** to partitions and read back. A sorted input is aggregated on the fly
+         **/
+        int incapacity = Math.max(1, Batch.getPageSize() / baseschema.getTupleSize());
+        int inpages = (int) Math.ceil(1.0 * intuples / incapacity);
+        int grouppages = (int) Math.ceil(1.0 * outtuples / incapacity);
+        if (!node.isPresorted()) {
+            addDemand(numbuff -> grouppages > numbuff - 2 ? 2 * inpages : 0, node::setNumBuff);
+        }
+
+        Schema schema = node.getSchema();
+        for (int i = 0; i < schema.getNumCols(); ++i) {
+            Attribute attr = schema.getAttribute(i);
+            Integer numdistinct = ht.get(attr);
+            ht.put(attr, numdistinct == null ? outtuples : Math.min(numdistinct, outtuples));
+        }
+        return outtuples;
+    }
+
+    /**
+     * Get the cost of an ORDERBY node.
+     * * A top-N that fits into numbuff - 1 pages is done in memory,
+     * * otherwise the whole input is sorted unless it is sorted already
+     *
+     * @param node the plan for OrderBy Operator.
+     * @return tuple number after ORDERBY.
+     */
+    private int getStatistics(OrderBy node) {
+        int intuples = calculateCost(node.getBase());
+        if (!isFeasible) {
+            return Integer.MAX_VALUE;
+        }
+        int capacity = Math.max(1, Batch.getPageSize() / node.getSchema().getTupleSize());
+        int topN = node.getTopN();
+        int inpages = (int) Math.ceil(1.0 * intuples / capacity);
+        if (!node.isPresorted()) {
+            addDemand(numbuff -> topN == 0 || topN > (numbuff - 1) * capacity ? getSortCost(inpages, numbuff) : 0,
+                    node::setNumBuff);
+        }
+        return intuples;
     }
 
     /**
@@ -152,6 +303,29 @@ public class PlanCost {
             /** Number of distinct values of left and right join attribute **/
             int leftattrdistn = ht.get(leftjoinAttr);
             int rightattrdistn = ht.get(rightjoinAttr);
+
+            /** With histograms of both attributes only the tuples in the range of
+             ** values common to both can match, their distinct values are estimated
+             ** as a share of the distinct values like the tuples
+             **/
+            Histogram lefthist = hist.get(leftjoinAttr);
+            Histogram righthist = hist.get(rightjoinAttr);
+            if (lefthist != null && righthist != null && lefthist.getType() == righthist.getType()) {
+                Object[] overlap = lefthist.overlap(righthist);
+                if (overlap == null) {
+                    tuples = 0;
+                    hist.remove(leftjoinAttr);
+                    hist.remove(rightjoinAttr);
+                    continue;
+                }
+                double leftfraction = lefthist.fractionWithin(overlap[0], overlap[1]);
+                double rightfraction = righthist.fractionWithin(overlap[0], overlap[1]);
+                tuples *= leftfraction * rightfraction;
+                leftattrdistn = Math.max(1, (int) Math.ceil(leftattrdistn * leftfraction));
+                rightattrdistn = Math.max(1, (int) Math.ceil(rightattrdistn * rightfraction));
+                putHistogram(leftjoinAttr, lefthist.restrict(overlap[0], overlap[1]));
+                putHistogram(rightjoinAttr, righthist.restrict(overlap[0], overlap[1]));
+            }
             tuples /= (double) Math.max(leftattrdistn, rightattrdistn);
             int mindistinct = Math.min(leftattrdistn, rightattrdistn);
             ht.put(leftjoinAttr, mindistinct);
@@ -159,37 +333,52 @@ public class PlanCost {
         }
         int outtuples = (int) Math.ceil(tuples);
 
-        /** Calculate the cost of the operation **/
-        int joinType = node.getJoinType();
-        int numbuff = BufferManager.getBuffersPerJoin();
-        int joincost;
+        /** The cost of the operation depends on its buffers, it is added once they are distributed **/
+        addDemand(numbuff -> getJoinCost(node, leftpages, rightpages, numbuff), node::setNumBuff);
+        return outtuples;
+    }
 
-        switch (joinType) {
+    /**
+     * Cost of the join method of the node with the given number of buffers
+     **/
+    private int getJoinCost(Join node, int leftpages, int rightpages, int numbuff) {
+        int joincost;
+        switch (node.getJoinType()) {
             case JoinType.NESTEDJOIN:
-                joincost = leftpages * rightpages;
+                joincost = leftpages * rightpages + getMaterializeCost(node.getRight(), rightpages);
                 break;
             case JoinType.BLOCKNESTED:
-                int leftBlocks = (int) Math.ceil(leftpages / (numbuff - 2));
-                joincost = leftBlocks * rightpages;
+                int leftBlocks = (int) Math.ceil(1.0 * leftpages / (numbuff - 2));
+                joincost = leftBlocks * rightpages + getMaterializeCost(node.getRight(), rightpages);
                 break;
             case JoinType.SORTMERGE:
-                int numOfLeftSortedRuns = (int) Math.ceil(1.0 * leftpages / numbuff);
-                int numOfLeftPasses = (int) Math.ceil(Math.log(numOfLeftSortedRuns) / Math.log(numbuff - 1)) + 1;
-                int leftSortCost = 2 * leftpages * numOfLeftPasses;
-
-                int numOfRightSortedRuns = (int) Math.ceil(1.0 * rightpages / numbuff);
-                int numOfRightPasses = (int) Math.ceil(Math.log(numOfRightSortedRuns) / Math.log(numbuff - 1)) + 1;
-                int rightSortCost = 2 * leftpages * numOfRightPasses;
-
-                joincost = leftSortCost + rightSortCost + rightpages;
+                /** inputs already sorted on the join key (interesting order) are not sorted again **/
+                joincost = rightpages;
+                if (!Operator.isSortedOn(node.getLeft().getSortOrder(), node.getLeftKey())) {
+                    joincost += getSortCost(leftpages, numbuff);
+                }
+                if (!Operator.isSortedOn(node.getRight().getSortOrder(), node.getRightKey())) {
+                    joincost += getSortCost(rightpages, numbuff);
+                }
+                break;
+            case JoinType.HASHJOIN:
+                /** no extra I/O when the left input fits into numbuff - 2 pages,
+                 ** otherwise both inputs are written to partitions and read back once
+                 ** per pass until every left partition fits. The first read of the
+                 ** inputs is in the cost of the children
+                 **/
+                if (leftpages <= numbuff - 2) {
+                    joincost = 0;
+                } else {
+                    int numOfPartitionPasses = (int) Math.ceil(Math.log(1.0 * leftpages / (numbuff - 2)) / Math.log(numbuff - 1));
+                    joincost = 2 * numOfPartitionPasses * (leftpages + rightpages);
+                }
                 break;
             default:
                 joincost = 0;
                 break;
         }
-
-        cost = cost + joincost;
-        return outtuples;
+        return joincost;
     }
 
     /**
@@ -206,8 +395,62 @@ public class PlanCost {
             return Integer.MAX_VALUE;
         }
 
-        Condition con = node.getCondition();
         Schema schema = node.getSchema();
+
+        /** Evaluate the most selective conditions first, every condition
+         ** is estimated against the statistics of the input
+         **/
+        ArrayList<Condition> conditions = new ArrayList<>(node.getConditionList());
+        HashMap<Condition, Double> selectivity = new HashMap<>();
+        for (Condition con : conditions) {
+            selectivity.put(con, getSelectivity(con, schema));
+        }
+        conditions.sort((c1, c2) -> Double.compare(selectivity.get(c1), selectivity.get(c2)));
+        node.setConditionList(conditions);
+
+        int outtuples = intuples;
+        for (Condition con : conditions) {
+            int tuples = outtuples;
+
+            /** Calculate the number of tuples in result **/
+            double fraction = getSelectivity(con, schema);
+            outtuples = (int) Math.ceil(fraction * tuples);
+
+            /** Modify the number of distinct values of each attribute: the selection
+             ** attribute keeps the share of its values that satisfy the condition,
+             ** the other attributes cannot have more values than tuples
+             **/
+            Attribute condattr = schema.getAttribute(schema.indexOf(con.getLhs()));
+            for (int i = 0; i < schema.getNumCols(); ++i) {
+                Attribute attri = schema.getAttribute(i);
+                int oldvalue = ht.get(attri);
+                int newvalue;
+                if (!attri.equals(condattr)) {
+                    newvalue = Math.min(oldvalue, outtuples);
+                } else if (con.getExprType() == Condition.EQUAL && con.getRhs() instanceof String) {
+                    newvalue = 1;
+                } else {
+                    newvalue = Math.min((int) Math.ceil(fraction * oldvalue), outtuples);
+                }
+                ht.put(attri, Math.max(1, newvalue));
+            }
+
+            /** and the histogram of the selection attribute those values **/
+            Histogram histogram = hist.get(condattr);
+            Object value = getConstant(con, histogram);
+            if (value != null) {
+                putHistogram(condattr, histogram.restrict(con.getExprType(), value));
+            }
+        }
+        return outtuples;
+    }
+
+    /**
+     * Fraction of the tuples satisfying a selection condition using the
+     * * histogram of the selection attribute if it is compared with a constant,
+     * * otherwise the number of distinct values of the selection attribute
+     **/
+    protected double getSelectivity(Condition con, Schema schema) {
         Attribute attr = con.getLhs();
         int index = schema.indexOf(attr);
         Attribute fullattr = schema.getAttribute(index);
@@ -215,84 +458,64 @@ public class PlanCost {
 
         /** Get number of distinct values of selection attributes **/
         int numdistinct = ht.get(fullattr);
-        int outtuples;
-
-        /** Calculate the number of tuples in result **/
-        if (exprtype == Condition.EQUAL) {
-            outtuples = (int) Math.ceil(1.0 * intuples / numdistinct);
+        Histogram histogram = hist.get(fullattr);
+        Object value = getConstant(con, histogram);
+        if (value != null) {
+            return histogram.selectivity(exprtype, value, numdistinct);
+        } else if (exprtype == Condition.EQUAL) {
+            return 1.0 / numdistinct;
         } else if (exprtype == Condition.NOTEQUAL) {
-            outtuples = (int) Math.ceil(intuples - 1.0 * intuples / numdistinct);
+            return 1.0 - 1.0 / numdistinct;
         } else {
-            outtuples = (int) Math.ceil(0.5 * intuples);
+            return 0.5;
         }
+    }
 
-        /** Modify the number of distinct values of each attribute
-         ** Assuming the values are distributed uniformly along entire
-         ** relation
-         **/
-        for (int i = 0; i < schema.getNumCols(); ++i) {
-            Attribute attri = schema.getAttribute(i);
-            int oldvalue = ht.get(attri);
-            int newvalue = (int) Math.ceil(1.0 * outtuples / intuples * oldvalue);
-            ht.put(attri, outtuples);
+    /**
+     * The constant a selection attribute with the histogram is compared
+     * * with, null if there is no histogram or no constant of its type
+     **/
+    private Object getConstant(Condition con, Histogram histogram) {
+        if (histogram == null || !(con.getRhs() instanceof String)) {
+            return null;
+        }
+        try {
+            return Histogram.valueOf((String) con.getRhs(), histogram.getType());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Sets the histogram of an attribute, null if no value is left
+     **/
+    private void putHistogram(Attribute attr, Histogram histogram) {
+        if (histogram == null) {
+            hist.remove(attr);
+        } else {
+            hist.put(attr, histogram);
         }
-        return outtuples;
     }
 
     /**
      * The statistics file <tablename>.stat to find the statistics
-     * * about that table;
+     * * about that table, read once and kept in the Catalog;
      * * This table contains number of tuples in the table
      * * number of distinct values of each attribute
+     * * and optionally the histogram of each attribute
      *
      * @param node the plan for Scan Operator.
      * @return the cost of the plan.
      **/
     protected int getStatistics(Scan node) {
-        String tablename = node.getTabName();
-        String filename = tablename + ".stat";
+        Catalog.Statistics statistics = Catalog.getStatistics(node.getTabName());
         Schema schema = node.getSchema();
         int numAttr = schema.getNumCols();
-        BufferedReader in = null;
-        try {
-            in = new BufferedReader(new FileReader(filename));
-        } catch (IOException io) {
-            System.out.println("Error in opening file" + filename);
-            System.exit(1);
-        }
-        String line = null;
-
-        // First line = number of tuples
-        try {
-            line = in.readLine();
-        } catch (IOException io) {
-            System.out.println("Error in readin first line of " + filename);
-            System.exit(1);
-        }
-        StringTokenizer tokenizer = new StringTokenizer(line);
-        if (tokenizer.countTokens() != 1) {
-            System.out.println("incorrect format of statastics file " + filename);
-            System.exit(1);
-        }
-        String temp = tokenizer.nextToken();
-        int numtuples = Integer.parseInt(temp);
-
-        try {
-            line = in.readLine();
-        } catch (IOException io) {
-            System.out.println("error in reading second line of " + filename);
-            System.exit(1);
-        }
-        tokenizer = new StringTokenizer(line);
-        if (tokenizer.countTokens() != numAttr) {
-            System.out.println("incorrect format of statastics file " + filename);
-            System.exit(1);
-        }
+        int numtuples = statistics.getNumTuples();
         for (int i = 0; i < numAttr; ++i) {
             Attribute attr = schema.getAttribute(i);
-            temp = tokenizer.nextToken();
-            int distinctValues = Integer.valueOf(temp);
-            ht.put(attr, distinctValues);
+            ht.put(attr, statistics.getNumDistinct(i));
+            putHistogram(attr, statistics.getHistogram(i));
         }
 
         /** Number of tuples per page**/
@@ -301,33 +524,38 @@ public class PlanCost {
         int numpages = (int) Math.ceil(1.0 * numtuples / pagesize);
 
         cost = cost + numpages;
-
-        try {
-            in.close();
-        } catch (IOException io) {
-            System.out.println("error in closing the file " + filename);
-            System.exit(1);
-        }
         return numtuples;
     }
 
     /**
-     * Calculate the number of distinct tuples
+     * Cost of sorting the given number of pages with ExternalSort.
+     * Replacement selection gives runs of about twice its heap
+     * (ExternalSort.getHeapPages) on unsorted input, a parallel sort
+     * has a smaller heap per worker and so more runs. The runs are
+     * merged ExternalSort.getMergeFanIn(numBuff) at a time, parallel
+     * merges are only used when they do not add a pass.
      *
-     * @param base
-     * @return the number of distinct tuples
+     * @param inPageNum number of pages to be sorted
+     * @param bufferNum number of buffers of the sort
+     * @return the I/O cost of sorting
      */
-    private int calculate(Operator base) {
-        int inTupleNum = calculateCost(base);
-        int inCapacity = Batch.getPageSize() / base.getSchema().getTupleSize();
-        int inPageNum = (int) Math.ceil(1.0 * inTupleNum / inCapacity);
-        int bufferNum = BufferManager.getBuffersPerJoin();
-        int numOfSortedRuns = (int) Math.ceil(1.0 * inPageNum / bufferNum);
-        int numOfPasses = (int) Math.ceil(Math.log(numOfSortedRuns) / Math.log(bufferNum - 1)) + 1;
-
-        cost += 2 * inPageNum * numOfPasses;
+    private int getSortCost(int inPageNum, int bufferNum) {
+        int numOfSortedRuns = (int) Math.ceil(inPageNum / (2.0 * ExternalSort.getHeapPages(bufferNum)));
+        int numOfPasses = 1 + ExternalSort.getMergePasses(numOfSortedRuns, ExternalSort.getMergeFanIn(bufferNum));
+        return 2 * inPageNum * numOfPasses;
+    }
 
-        return inTupleNum;
+    /**
+     * Cost of writing the inner input of a nested loops join to a
+     * temporary file, nothing if it is rescanned instead (see
+     * Operator.isRescannable())
+     *
+     * @param inner    inner (right) input of the join
+     * @param pagenum  number of pages of the inner input
+     * @return the I/O cost of materializing the inner input
+     */
+    private int getMaterializeCost(Operator inner, int pagenum) {
+        return inner.isRescannable() ? 0 : pagenum;
     }
 
 }
@@ -10,20 +10,21 @@ import qp.operators.Join;
 import qp.operators.JoinType;
 import qp.operators.OpType;
 import qp.operators.Operator;
+import qp.operators.OrderBy;
 import qp.operators.Project;
 import qp.operators.Scan;
 import qp.operators.Select;
 import qp.utils.Attribute;
+import qp.utils.Catalog;
 import qp.utils.Condition;
 import qp.utils.RandNumb;
 import qp.utils.SQLQuery;
 import qp.utils.Schema;
 
-import java.io.FileInputStream;
-import java.io.ObjectInputStream;
 import java.util.ArrayList;
 import java.util.BitSet;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 
 public class RandomInitialPlan {
 
@@ -35,6 +36,7 @@ public class RandomInitialPlan {
     ArrayList<Condition> joinlist;        // List of join conditions
     ArrayList<Attribute> groupbylist;
     int numJoin;            // Number of joins in this query
+    int numJoinNodes;       // Number of join operators in the plan, a join may hold several conditions
     int limit;              // Number of rows to display
     int offset;             // Number of rows to skip
     HashMap<String, Operator> tab_op_hash;  // Table name to the Operator
@@ -59,6 +61,14 @@ public class RandomInitialPlan {
         return numJoin;
     }
 
+    /**
+     * number of join operators in the plan prepared last, conditions
+     * between two tables that are joined already share their join
+     **/
+    public int getNumJoinNodes() {
+        return numJoinNodes;
+    }
+
     /**
      * prepare initial plan for the query
      *
@@ -74,6 +84,7 @@ public class RandomInitialPlan {
         createProjectOp();
         createGroupByOp();
         createDistinctOp();
+        createOrderByOp();
 
         root.setLimit(limit);
         root.setOffset(offset);
@@ -92,20 +103,8 @@ public class RandomInitialPlan {
             Scan op1 = new Scan(tabname, OpType.SCAN);
             tempop = op1;
 
-            /** Read the schema of the table from tablename.md file
-             ** md stands for metadata
-             **/
-            String filename = tabname + ".md";
-            try {
-                ObjectInputStream _if = new ObjectInputStream(new FileInputStream(filename));
-                Schema schm = (Schema) _if.readObject();
-                op1.setSchema(schm);
-                _if.close();
-            } catch (Exception e) {
-                System.err.println("RandomInitialPlan:Error reading Schema of the table " + filename);
-                System.err.println(e);
-                System.exit(1);
-            }
+            /** The schema of the table from tablename.md file, kept in the catalog **/
+            op1.setSchema(Catalog.getSchema(tabname));
             tab_op_hash.put(tabname, op1);
         }
 
@@ -122,22 +121,29 @@ public class RandomInitialPlan {
     }
 
     /**
-     * Create Selection Operators for each of the
-     * * selection condition mentioned in Condition list
+     * Create one Select operator per table, evaluating all the
+     * * selection conditions on that table
      **/
     public void createSelectOp() {
         Select op1 = null;
+        LinkedHashMap<String, ArrayList<Condition>> tab_cond_hash = new LinkedHashMap<>();
         for (int j = 0; j < selectionlist.size(); ++j) {
             Condition cn = selectionlist.get(j);
             if (cn.getOpType() == Condition.SELECT) {
                 String tabname = cn.getLhs().getTabName();
-                Operator tempop = (Operator) tab_op_hash.get(tabname);
-                op1 = new Select(tempop, cn, OpType.SELECT);
-                /** set the schema same as base relation **/
-                op1.setSchema(tempop.getSchema());
-                modifyHashtable(tempop, op1);
+                if (!tab_cond_hash.containsKey(tabname)) {
+                    tab_cond_hash.put(tabname, new ArrayList<>());
+                }
+                tab_cond_hash.get(tabname).add(cn);
             }
         }
+        for (String tabname : tab_cond_hash.keySet()) {
+            Operator tempop = (Operator) tab_op_hash.get(tabname);
+            op1 = new Select(tempop, tab_cond_hash.get(tabname), OpType.SELECT);
+            /** set the schema same as base relation **/
+            op1.setSchema(tempop.getSchema());
+            modifyHashtable(tempop, op1);
+        }
 
         /** The last selection is the root of the plan tre
          ** constructed thus far
@@ -153,6 +159,7 @@ public class RandomInitialPlan {
         BitSet bitCList = new BitSet(numJoin);
         int jnnum = RandNumb.randInt(0, numJoin - 1);
         Join jn = null;
+        numJoinNodes = 0;
 
         /** Repeat until all the join conditions are considered **/
         while (bitCList.cardinality() != numJoin) {
@@ -167,8 +174,15 @@ public class RandomInitialPlan {
             String righttab = ((Attribute) cn.getRhs()).getTabName();
             Operator left = (Operator) tab_op_hash.get(lefttab);
             Operator right = (Operator) tab_op_hash.get(righttab);
+            bitCList.set(jnnum);
+            /** both tables are joined already, the condition becomes part of the join key **/
+            if (left == right) {
+                addJoinCondition(left, (Condition) cn.clone());
+                continue;
+            }
             jn = new Join(left, right, cn, OpType.JOIN);
-            jn.setNodeIndex(jnnum);
+            jn.setNodeIndex(numJoinNodes);
+            numJoinNodes += 1;
             Schema newsche = left.getSchema().joinWith(right.getSchema());
             jn.setSchema(newsche);
 
@@ -180,7 +194,6 @@ public class RandomInitialPlan {
             //jn.setJoinType(2);
             modifyHashtable(left, jn);
             modifyHashtable(right, jn);
-            bitCList.set(jnnum);
         }
 
         /** The last join operation is the root for the
@@ -190,6 +203,26 @@ public class RandomInitialPlan {
             root = jn;
     }
 
+    /**
+     * Adds the condition to the join below node where its two
+     * tables meet, flipped if its left attribute is on the right side
+     **/
+    private void addJoinCondition(Operator node, Condition cn) {
+        Join join = (Join) node;
+        boolean lhsLeft = join.getLeft().getSchema().contains(cn.getLhs());
+        boolean rhsLeft = join.getLeft().getSchema().contains((Attribute) cn.getRhs());
+        if (lhsLeft && !rhsLeft) {
+            join.addCondition(cn);
+        } else if (!lhsLeft && rhsLeft) {
+            cn.flip();
+            join.addCondition(cn);
+        } else if (lhsLeft) {
+            addJoinCondition(join.getLeft(), cn);
+        } else {
+            addJoinCondition(join.getRight(), cn);
+        }
+    }
+
     /**
      * create project operators
      **/
@@ -197,6 +230,9 @@ public class RandomInitialPlan {
         Operator base = root;
         if (projectlist == null)
             projectlist = new ArrayList<Attribute>();
+        /** the GroupBy operator computes the select list itself **/
+        if (isAggregation())
+            return;
         if (!projectlist.isEmpty()) {
             root = new Project(base, projectlist, OpType.PROJECT);
             Schema newSchema = base.getSchema().subSchema(projectlist);
@@ -222,14 +258,73 @@ public class RandomInitialPlan {
     }
 
     /**
-     * Creates a groupby operator.
+     * Whether the query groups tuples or computes aggregates
+     **/
+    private boolean isAggregation() {
+        ArrayList<Attribute> groupbyList = sqlquery.getGroupByList();
+        if (groupbyList != null && !groupbyList.isEmpty()) {
+            return true;
+        }
+        for (Attribute attr : projectlist) {
+            if (attr.getAggType() != Attribute.NONE) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Creates a groupby operator, which also computes the aggregates
+     * of the select list. Aggregates without GROUPBY form a single group.
      */
     private void createGroupByOp() {
+        if (!isAggregation()) {
+            return;
+        }
         ArrayList<Attribute> groupbyList = sqlquery.getGroupByList();
-        if (groupbyList != null && !groupbyList.isEmpty()) {
-            GroupBy operator = new GroupBy(root, groupbyList);
+        if (groupbyList == null) {
+            groupbyList = new ArrayList<>();
+        }
+        GroupBy operator = new GroupBy(root, groupbyList, projectlist);
+        if (projectlist.isEmpty()) {
+            operator.setSchema(root.getSchema());
+        } else {
+            operator.setSchema(root.getSchema().subSchema(projectlist));
+        }
+        root = operator;
+    }
+
+    /**
+     * Creates an orderby operator on top of the plan. If the select list
+     * does not contain the sort attributes, the tuples are sorted before
+     * they are projected.
+     */
+    private void createOrderByOp() {
+        ArrayList<Attribute> orderbyList = sqlquery.getOrderByList();
+        if (orderbyList == null || orderbyList.isEmpty()) {
+            return;
+        }
+        boolean inResult = true;
+        for (Attribute attr : orderbyList) {
+            if (root.getSchema().indexOf(attr) < 0) {
+                inResult = false;
+            }
+        }
+        if (inResult) {
+            OrderBy operator = new OrderBy(root, orderbyList);
             operator.setSchema(root.getSchema());
             root = operator;
+        } else if (root.getOpType() == OpType.PROJECT) {
+            Project project = (Project) root;
+            OrderBy operator = new OrderBy(project.getBase(), orderbyList);
+            operator.setSchema(project.getBase().getSchema());
+            /** the projection keeps every tuple, so the top-N can be taken below it **/
+            operator.setLimit(limit);
+            operator.setOffset(offset);
+            project.setBase(operator);
+        } else {
+            System.out.println("ORDERBY attributes have to be in the select list");
+            System.exit(1);
         }
     }
 
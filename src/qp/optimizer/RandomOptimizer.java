@@ -7,11 +7,14 @@ package qp.optimizer;
 import qp.operators.BlockNestedJoin;
 import qp.operators.Debug;
 import qp.operators.Distinct;
+import qp.operators.Exchange;
 import qp.operators.GroupBy;
+import qp.operators.HashJoin;
 import qp.operators.Join;
 import qp.operators.JoinType;
 import qp.operators.OpType;
 import qp.operators.Operator;
+import qp.operators.OrderBy;
 import qp.operators.NestedJoin;
 import qp.operators.Project;
 import qp.operators.Select;
@@ -59,11 +62,13 @@ public abstract class RandomOptimizer {
     /**
      * After finding a choice of method for each operator
      * * prepare an execution plan by replacing the methods with
-     * * corresponding join operator implementation
+     * * corresponding join operator implementation. Every operator gets
+     * * the buffers PlanCost granted it, or the buffers per join if the
+     * * plan was not costed
      **/
     public static Operator makeExecPlan(Operator node) {
-        int numbuff = BufferManager.getBuffersPerJoin();
         if (node.getOpType() == OpType.JOIN) {
+            int numbuff = getNumBuff(((Join) node).getNumBuff());
             Operator left = makeExecPlan(((Join) node).getLeft());
             Operator right = makeExecPlan(((Join) node).getRight());
             int joinType = ((Join) node).getJoinType();
@@ -87,18 +92,31 @@ public abstract class RandomOptimizer {
                 case JoinType.SORTMERGE:
                     SortMergeJoin smj = new SortMergeJoin((Join) node);
 
-                    ArrayList<Attribute> leftAttrs = new ArrayList<>();
-                    leftAttrs.add(smj.getCondition().getLhs());
-                    smj.setLeft(new ExternalSort(left, leftAttrs, numbuff));
+                    /** an input that already comes sorted on the join key is not sorted again **/
+                    ArrayList<Attribute> leftAttrs = smj.getLeftKey();
+                    if (!Operator.isSortedOn(left.getSortOrder(), leftAttrs)) {
+                        left = exchange(new ExternalSort(left, leftAttrs, numbuff));
+                    }
+                    smj.setLeft(left);
 
-                    ArrayList<Attribute> rightAttrs = new ArrayList<>();
-                    rightAttrs.add((Attribute) smj.getCondition().getRhs());
-                    smj.setRight(new ExternalSort(right, rightAttrs, numbuff));
+                    ArrayList<Attribute> rightAttrs = smj.getRightKey();
+                    if (!Operator.isSortedOn(right.getSortOrder(), rightAttrs)) {
+                        right = exchange(new ExternalSort(right, rightAttrs, numbuff));
+                    }
+                    smj.setRight(right);
 
                     smj.setNumBuff(numbuff);
                     smj.setLimit(node.getLimit());
                     smj.setOffset(node.getOffset());
                     return smj;
+                case JoinType.HASHJOIN:
+                    HashJoin hj = new HashJoin((Join) node);
+                    hj.setLeft(left);
+                    hj.setRight(right);
+                    hj.setNumBuff(numbuff);
+                    hj.setLimit(node.getLimit());
+                    hj.setOffset(node.getOffset());
+                    return exchange(hj);
                 default:
                     return node;
             }
@@ -112,21 +130,66 @@ public abstract class RandomOptimizer {
             return node;
         } else if (node.getOpType() == OpType.DISTINCT) {
             Distinct operator = (Distinct) node;
-            operator.setNumBuff(numbuff);
+            operator.setNumBuff(getNumBuff(operator.getNumBuff()));
             Operator base = makeExecPlan(operator.getBase());
             operator.setBase(base);
-            return node;
+            return exchange(node);
         } else if (node.getOpType() == OpType.GROUPBY) {
             GroupBy operator = (GroupBy) node;
-            operator.setNumBuff(numbuff);
+            operator.setNumBuff(getNumBuff(operator.getNumBuff()));
             Operator base = makeExecPlan(operator.getBase());
             operator.setBase(base);
-            return node;
+            return exchange(node);
+        } else if (node.getOpType() == OpType.ORDERBY) {
+            OrderBy operator = (OrderBy) node;
+            operator.setNumBuff(getNumBuff(operator.getNumBuff()));
+            Operator base = makeExecPlan(operator.getBase());
+            operator.setBase(base);
+            return exchange(node);
+        } else if (node.getOpType() == OpType.SCAN) {
+            return exchange(node);
         } else {
             return node;
         }
     }
 
+    private static int getNumBuff(int granted) {
+        return granted > 0 ? granted : BufferManager.getBuffersPerJoin();
+    }
+
+    /**
+     * Runs the operator on a thread of its own, if exchanges are enabled.
+     * * They are put above the scans and the blocking operators, which
+     * * then produce their next pages while the operators above work
+     **/
+    private static Operator exchange(Operator node) {
+        if (!Exchange.isEnabled()) {
+            return node;
+        }
+        return new Exchange(node);
+    }
+
+    /**
+     * Sets LIMIT / OFFSET on the root of the execution plan and passes the
+     * * number of tuples needed (limit + offset) down through the projections,
+     * * which return one tuple per input tuple. Every operator stops pulling
+     * * from its input once it has returned that many tuples
+     **/
+    public static void pushDownLimit(Operator root, int limit, int offset) {
+        root.setLimit(limit);
+        root.setOffset(offset);
+        int budget = root.getRowBudget();
+        if (budget <= 0) {
+            return;
+        }
+        Operator node = root;
+        while (node.getOpType() == OpType.PROJECT) {
+            node = ((Project) node).getBase();
+            node.setLimit(budget);
+            node.setOffset(0);
+        }
+    }
+
     /**
      * Randomly selects a neighbour
      **/
@@ -185,7 +248,9 @@ public abstract class RandomOptimizer {
         Operator right = node.getRight();
         node.setLeft(right);
         node.setRight(left);
-        node.getCondition().flip();
+        for (Condition condition : node.getConditionList()) {
+            condition.flip();
+        }
         modifySchema(root);
         return root;
     }
@@ -201,6 +266,13 @@ public abstract class RandomOptimizer {
         Operator left = op.getLeft();
         Operator right = op.getRight();
 
+        /** the conditions of a join with a composite key may not all move together, it is left as it is **/
+        if (op.getConditionList().size() > 1
+                || (left.getOpType() == OpType.JOIN && ((Join) left).getConditionList().size() > 1)
+                || (right.getOpType() == OpType.JOIN && ((Join) right).getConditionList().size() > 1)) {
+            return root;
+        }
+
         if (left.getOpType() == OpType.JOIN && right.getOpType() != OpType.JOIN) {
             transformLefttoRight(op, (Join) left);
         } else if (left.getOpType() != OpType.JOIN && right.getOpType() == OpType.JOIN) {
@@ -327,6 +399,8 @@ public abstract class RandomOptimizer {
             return findNodeAt(((Distinct) node).getBase(), joinNum);
         } else if (node.getOpType() == OpType.GROUPBY) {
             return findNodeAt(((GroupBy) node).getBase(), joinNum);
+        } else if (node.getOpType() == OpType.ORDERBY) {
+            return findNodeAt(((OrderBy) node).getBase(), joinNum);
         } else {
             return null;
         }
@@ -358,6 +432,15 @@ public abstract class RandomOptimizer {
         } else if (node.getOpType() == OpType.GROUPBY) {
             Operator base = ((GroupBy) node).getBase();
             modifySchema(base);
+            ArrayList<Attribute> attrlist = ((GroupBy) node).getProjectList();
+            if (attrlist.isEmpty()) {
+                node.setSchema(base.getSchema());
+            } else {
+                node.setSchema(base.getSchema().subSchema(attrlist));
+            }
+        } else if (node.getOpType() == OpType.ORDERBY) {
+            Operator base = ((OrderBy) node).getBase();
+            modifySchema(base);
             node.setSchema(base.getSchema());
         }
     }
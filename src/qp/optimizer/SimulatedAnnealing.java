@@ -30,9 +30,9 @@ public class SimulatedAnnealing extends RandomOptimizer {
     public Operator getOptimizedPlan() {
         /** get an initial plan for the given sql query **/
         RandomInitialPlan rip = new RandomInitialPlan(sqlquery);
-        numJoin = rip.getNumJoins();
 
         Operator initPlan = rip.prepareInitialPlan();
+        numJoin = rip.getNumJoinNodes();
         Operator minPlan = initPlan;
 
         int initCost;
@@ -11,6 +11,7 @@ public class Batch implements Serializable {
 
     int MAX_SIZE;             // Number of tuples per page
     static int PageSize;      // Number of bytes per page
+    static boolean columnar = true;  // Whether operators produce ColumnBatch pages
     ArrayList<Tuple> tuples;  // The tuples in the page
 
     /** Set number of bytes per page **/
@@ -23,17 +24,46 @@ public class Batch implements Serializable {
         return PageSize;
     }
 
+    /**
+     * Set whether scans, selections, projections and joins produce columnar pages.
+     * Without them a scan of a memory-mapped table returns lazy MappedTuple views
+     **/
+    public static void setColumnar(boolean flag) {
+        columnar = flag;
+    }
+
+    public static boolean isColumnar() {
+        return columnar;
+    }
+
+    /** A ColumnBatch for the schema if columnar pages are enabled, a row Batch otherwise **/
+    public static Batch create(Schema schema, int numtuple) {
+        if (columnar) {
+            return new ColumnBatch(schema, numtuple);
+        }
+        return new Batch(numtuple);
+    }
+
     /** Number of tuples per page **/
     public Batch(int numtuple) {
         MAX_SIZE = numtuple;
         tuples = new ArrayList<>(MAX_SIZE);
     }
 
+    /** Used by subclasses that do not keep a list of tuples **/
+    protected Batch() {
+    }
+
     /** Insert the record in page at next free location **/
     public void add(Tuple t) {
         tuples.add(t);
     }
 
+    /** Insert the join of the two records at next free location **/
+    public void addJoined(Tuple left, Tuple right) {
+        tuples.add(left.joinWith(right));
+    }
+
     public int capacity() {
         return MAX_SIZE;
     }
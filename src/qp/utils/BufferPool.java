@@ -0,0 +1,294 @@
+/**
+ * Page cache shared by all the operators
+ **/
+
+package qp.utils;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.TreeMap;
+
+/**
+ * BufferPool - caches disk pages, identified by file name and page number.
+ * A page is pinned while it is used and cannot be evicted until it is
+ * unpinned again. The pool holds at most capacity pages, it only grows
+ * beyond that while every page is pinned.
+ * Pages are replaced with LRU-2: the victim is the unpinned page whose
+ * second to last use is the oldest, pages used only once go first. A
+ * sequential scan therefore only replaces its own pages and leaves alone
+ * the pages that are read again, e.g. the inner input of a nested loops join.
+ * A page can be written to the pool instead of its file, such a dirty page
+ * is only written to the file when it is evicted.
+ * The pool can be used by several threads, a page is read by the first
+ * thread that asks for it and the others wait for it.
+ */
+public class BufferPool {
+
+    /**
+     * A file whose pages can be read and written by page number
+     */
+    public interface PageStore {
+        /** the page, null if there is no such page **/
+        Object readPage(int pageNum) throws IOException;
+
+        void writePage(int pageNum, Object page) throws IOException;
+    }
+
+    private static final BufferPool pool = new BufferPool();
+
+    private final HashMap<Key, Frame> frames = new HashMap<>();
+    private final LinkedHashSet<Frame> once = new LinkedHashSet<>(); // Pages used once, least recently used first
+    private final TreeMap<Long, Frame> twice = new TreeMap<>();      // Other pages by the time of their use before the last
+    private int capacity = 0;   // Number of pages kept, 0 to keep none
+    private long clock = 0;     // Counts the uses of pages
+    private long hits = 0;      // Number of pins of a page already in the pool
+    private long misses = 0;    // Number of pins that had to read the page
+    private long evictions = 0; // Number of pages evicted
+    private long writes = 0;    // Number of dirty pages written to their file
+
+    public static BufferPool getPool() {
+        return pool;
+    }
+
+    public synchronized void setCapacity(int capacity) {
+        this.capacity = capacity;
+        evict();
+    }
+
+    public synchronized int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Pins a page, it is read from the store if it is not in the pool
+     *
+     * @return the page, null if the store has no such page
+     **/
+    public Object pin(String filename, int pageNum, PageStore store) {
+        Key key = new Key(filename, pageNum);
+        Frame frame;
+        synchronized (this) {
+            frame = frames.get(key);
+            if (frame != null) {
+                hits++;
+                frame.pins++;
+                use(frame);
+                while (frame.loading) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        System.out.println("BufferPool: interrupted while reading " + filename);
+                        System.exit(1);
+                    }
+                }
+                return frame.page;
+            }
+            misses++;
+            frame = new Frame(key, store);
+            frame.pins = 1;
+            frame.loading = true;
+            use(frame);
+            frames.put(key, frame);
+            evict();
+        }
+        /** the page is read without holding the pool, other pages can be pinned meanwhile **/
+        Object page = null;
+        try {
+            page = store.readPage(pageNum);
+        } catch (IOException e) {
+            System.out.println("BufferPool: cannot read page " + pageNum + " of " + filename);
+            System.exit(1);
+        }
+        synchronized (this) {
+            frame.page = page;
+            frame.loading = false;
+            if (page == null && frames.get(key) == frame) {
+                remove(frame);
+            }
+            notifyAll();
+        }
+        return page;
+    }
+
+    /**
+     * Unpins a page pinned before
+     *
+     * @param dirty whether the page was modified and has to be written back
+     **/
+    public synchronized void unpin(String filename, int pageNum, boolean dirty) {
+        Frame frame = frames.get(new Key(filename, pageNum));
+        if (frame == null || frame.pins == 0) {
+            return;
+        }
+        frame.pins--;
+        frame.dirty |= dirty;
+        evict();
+    }
+
+    /**
+     * Puts a new version of a page into the pool, it is written to the
+     * * store when it is evicted. The page is not pinned
+     **/
+    public synchronized void write(String filename, int pageNum, Object page, PageStore store) {
+        Key key = new Key(filename, pageNum);
+        Frame frame = frames.get(key);
+        if (frame == null) {
+            frame = new Frame(key, store);
+            frames.put(key, frame);
+        }
+        frame.page = page;
+        frame.dirty = true;
+        use(frame);
+        evict();
+    }
+
+    /**
+     * Drops the pages of a file without writing them, e.g. before the file is deleted
+     **/
+    public synchronized void discard(String filename) {
+        ArrayList<Frame> dropped = new ArrayList<>();
+        for (Frame frame : frames.values()) {
+            if (frame.key.filename.equals(filename) && !frame.loading) {
+                dropped.add(frame);
+            }
+        }
+        for (Frame frame : dropped) {
+            remove(frame);
+        }
+    }
+
+    /**
+     * Records a use of the page for LRU-2
+     **/
+    private void use(Frame frame) {
+        clock++;
+        if (frame.last == 0) {
+            once.add(frame);
+        } else if (frame.previous == 0) {
+            once.remove(frame);
+            twice.put(frame.last, frame);
+        } else {
+            twice.remove(frame.previous);
+            twice.put(frame.last, frame);
+        }
+        frame.previous = frame.last;
+        frame.last = clock;
+    }
+
+    private void remove(Frame frame) {
+        frames.remove(frame.key);
+        if (frame.previous == 0) {
+            once.remove(frame);
+        } else {
+            twice.remove(frame.previous);
+        }
+    }
+
+    /**
+     * The unpinned page to be replaced, null if all the pages are pinned
+     **/
+    private Frame victim() {
+        for (Frame frame : once) {
+            if (frame.pins == 0 && !frame.loading) {
+                return frame;
+            }
+        }
+        for (Frame frame : twice.values()) {
+            if (frame.pins == 0 && !frame.loading) {
+                return frame;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Evicts unpinned pages until the pool is within its capacity
+     **/
+    private void evict() {
+        while (frames.size() > capacity) {
+            Frame victim = victim();
+            if (victim == null) {
+                return;
+            }
+            remove(victim);
+            evictions++;
+            if (victim.dirty) {
+                try {
+                    victim.store.writePage(victim.key.pageNum, victim.page);
+                } catch (IOException e) {
+                    System.out.println("BufferPool: cannot write page " + victim.key.pageNum + " of " + victim.key.filename);
+                    System.exit(1);
+                }
+                writes++;
+            }
+        }
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    public synchronized long getWrites() {
+        return writes;
+    }
+
+    public synchronized void resetStatistics() {
+        hits = 0;
+        misses = 0;
+        evictions = 0;
+        writes = 0;
+    }
+
+    /**
+     * A page in the pool
+     */
+    private static class Frame {
+        final Key key;
+        final PageStore store;   // Where the page is read from and written to
+        Object page;
+        int pins = 0;            // Number of users of the page
+        boolean dirty = false;   // Whether the page has to be written back
+        boolean loading = false; // Whether the page is being read
+        long last = 0;           // Time of the last use
+        long previous = 0;       // Time of the use before, 0 if used once only
+
+        Frame(Key key, PageStore store) {
+            this.key = key;
+            this.store = store;
+        }
+    }
+
+    private static class Key {
+        final String filename;
+        final int pageNum;
+
+        Key(String filename, int pageNum) {
+            this.filename = filename;
+            this.pageNum = pageNum;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return pageNum == other.pageNum && filename.equals(other.filename);
+        }
+
+        @Override
+        public int hashCode() {
+            return filename.hashCode() * 31 + pageNum;
+        }
+    }
+}
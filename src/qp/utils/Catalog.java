@@ -0,0 +1,213 @@
+/**
+ * Schemas and statistics of the tables
+ **/
+
+package qp.utils;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.util.HashMap;
+import java.util.StringTokenizer;
+
+/**
+ * Catalog - keeps the schema (<tablename>.md) and the statistics
+ * (<tablename>.stat) of the tables in memory. The optimizer asks for them
+ * for every initial plan and every plan it costs, each file is only read
+ * the first time and again once it is modified, i.e. its modification
+ * time or length changed, e.g. after RandomDB or Analyze rewrote it.
+ * The statistics of a table are also read again when its schema is.
+ */
+public class Catalog {
+
+    private static final HashMap<String, Entry> schemas = new HashMap<>();     // Schema of each table
+    private static final HashMap<String, Entry> statistics = new HashMap<>();  // Statistics of each table
+
+    /**
+     * The schema of the table, a copy the caller may modify
+     **/
+    public static Schema getSchema(String tabname) {
+        return (Schema) loadSchema(tabname).clone();
+    }
+
+    /**
+     * The statistics of the table, they are shared and must not be modified
+     **/
+    public static synchronized Statistics getStatistics(String tabname) {
+        Schema schema = loadSchema(tabname);
+        String filename = tabname + ".stat";
+        File file = new File(filename);
+        Entry entry = statistics.get(tabname);
+        if (entry == null || !entry.isCurrent(file) || ((Statistics) entry.value).schema != schema) {
+            entry = new Entry(file);
+            entry.value = readStatistics(filename, schema);
+            statistics.put(tabname, entry);
+        }
+        return (Statistics) entry.value;
+    }
+
+    /**
+     * Forgets all the tables, they are read again when asked for
+     **/
+    public static synchronized void clear() {
+        schemas.clear();
+        statistics.clear();
+    }
+
+    private static synchronized Schema loadSchema(String tabname) {
+        String filename = tabname + ".md";
+        File file = new File(filename);
+        Entry entry = schemas.get(tabname);
+        if (entry == null || !entry.isCurrent(file)) {
+            entry = new Entry(file);
+            entry.value = readSchema(filename);
+            schemas.put(tabname, entry);
+        }
+        return (Schema) entry.value;
+    }
+
+    /**
+     * Reads the schema of the table from tablename.md file
+     * * md stands for metadata
+     **/
+    private static Schema readSchema(String filename) {
+        Schema schema = null;
+        try (ObjectInputStream in = new ObjectInputStream(new FileInputStream(filename))) {
+            schema = (Schema) in.readObject();
+        } catch (Exception e) {
+            System.err.println("Catalog:Error reading Schema of the table " + filename);
+            System.err.println(e);
+            System.exit(1);
+        }
+        return schema;
+    }
+
+    /**
+     * The statistics file contains the number of tuples in the table,
+     * * the number of distinct values of each attribute and optionally
+     * * the histogram of each attribute, one per line
+     **/
+    private static Statistics readStatistics(String filename, Schema schema) {
+        int numAttr = schema.getNumCols();
+        BufferedReader in = null;
+        try {
+            in = new BufferedReader(new FileReader(filename));
+        } catch (IOException io) {
+            System.out.println("Error in opening file" + filename);
+            System.exit(1);
+        }
+        String line = null;
+
+        // First line = number of tuples
+        try {
+            line = in.readLine();
+        } catch (IOException io) {
+            System.out.println("Error in readin first line of " + filename);
+            System.exit(1);
+        }
+        StringTokenizer tokenizer = new StringTokenizer(line);
+        if (tokenizer.countTokens() != 1) {
+            System.out.println("incorrect format of statastics file " + filename);
+            System.exit(1);
+        }
+        String temp = tokenizer.nextToken();
+        int numtuples = Integer.parseInt(temp);
+
+        try {
+            line = in.readLine();
+        } catch (IOException io) {
+            System.out.println("error in reading second line of " + filename);
+            System.exit(1);
+        }
+        tokenizer = new StringTokenizer(line);
+        if (tokenizer.countTokens() != numAttr) {
+            System.out.println("incorrect format of statastics file " + filename);
+            System.exit(1);
+        }
+        int[] distinct = new int[numAttr];
+        for (int i = 0; i < numAttr; ++i) {
+            temp = tokenizer.nextToken();
+            distinct[i] = Integer.valueOf(temp);
+        }
+
+        /** Files written before histograms were kept end here **/
+        Histogram[] histograms = new Histogram[numAttr];
+        for (int i = 0; i < numAttr; ++i) {
+            try {
+                line = in.readLine();
+            } catch (IOException io) {
+                System.out.println("error in reading histograms of " + filename);
+                System.exit(1);
+            }
+            if (line == null) {
+                break;
+            }
+            try {
+                histograms[i] = Histogram.parse(line, schema.typeOf(i));
+            } catch (RuntimeException e) {
+                System.out.println("incorrect format of statastics file " + filename);
+                System.exit(1);
+            }
+        }
+
+        try {
+            in.close();
+        } catch (IOException io) {
+            System.out.println("error in closing the file " + filename);
+            System.exit(1);
+        }
+        return new Statistics(schema, numtuples, distinct, histograms);
+    }
+
+    /**
+     * The statistics of a table
+     */
+    public static class Statistics {
+        private final Schema schema;            // Schema the statistics were read with
+        private final int numtuples;            // Number of tuples in the table
+        private final int[] distinct;           // Number of distinct values of each attribute
+        private final Histogram[] histograms;   // Histogram of each attribute, null if there is none
+
+        Statistics(Schema schema, int numtuples, int[] distinct, Histogram[] histograms) {
+            this.schema = schema;
+            this.numtuples = numtuples;
+            this.distinct = distinct;
+            this.histograms = histograms;
+        }
+
+        public int getNumTuples() {
+            return numtuples;
+        }
+
+        public int getNumDistinct(int attrAt) {
+            return distinct[attrAt];
+        }
+
+        public Histogram getHistogram(int attrAt) {
+            return histograms[attrAt];
+        }
+    }
+
+    /**
+     * A file read into memory, with the modification time and length it had
+     * * before it was read, a change while it is read is found next time
+     */
+    private static class Entry {
+        Object value;
+        final long modified;
+        final long length;
+
+        Entry(File file) {
+            this.modified = file.lastModified();
+            this.length = file.length();
+        }
+
+        boolean isCurrent(File file) {
+            return file.lastModified() == modified && file.length() == length;
+        }
+    }
+
+}
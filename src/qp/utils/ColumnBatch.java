@@ -0,0 +1,371 @@
+/**
+ * Columnar representation of a page
+ **/
+
+package qp.utils;
+
+import java.io.ObjectStreamException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+
+/**
+ * ColumnBatch - stores the values of a page column by column in primitive
+ * arrays (int[] for INT, float[] for REAL, String[] for STRING) instead of
+ * one ArrayList of boxed values per tuple. An optional selection vector
+ * lists the rows that are visible, so a filter does not have to copy them.
+ * get(i) returns a light-weight row view, which keeps every operator that
+ * works on row Batches working unchanged.
+ * The batches made by project and select share the column arrays of
+ * their base batch, a batch copies the shared arrays before changing them.
+ */
+public class ColumnBatch extends Batch {
+
+    private static final long serialVersionUID = 1L;
+
+    final int[] types;          // Type of each column
+    final int[][] intCols;      // Values of INT columns, null for other columns
+    final float[][] realCols;   // Values of REAL columns, null for other columns
+    final String[][] strCols;   // Values of STRING columns, null for other columns
+    int numRows;                // Number of rows stored in the columns
+    int[] sel;                  // Selection vector, null if every stored row is visible
+    int selSize;                // Number of visible rows when sel is in use
+    transient boolean shared;   // Whether the column arrays are shared with another batch
+
+    public ColumnBatch(Schema schema, int numtuple) {
+        super();
+        MAX_SIZE = numtuple;
+        int numCols = schema.getNumCols();
+        types = new int[numCols];
+        intCols = new int[numCols][];
+        realCols = new float[numCols][];
+        strCols = new String[numCols][];
+        for (int i = 0; i < numCols; ++i) {
+            types[i] = schema.getAttribute(i).getProjectedType();
+            if (types[i] == Attribute.INT) {
+                intCols[i] = new int[numtuple];
+            } else if (types[i] == Attribute.REAL) {
+                realCols[i] = new float[numtuple];
+            } else {
+                strCols[i] = new String[numtuple];
+            }
+        }
+    }
+
+    /** Batch sharing the given columns of another batch, used for projection **/
+    private ColumnBatch(ColumnBatch base, int[] colIndex) {
+        super();
+        MAX_SIZE = base.MAX_SIZE;
+        int numCols = colIndex.length;
+        types = new int[numCols];
+        intCols = new int[numCols][];
+        realCols = new float[numCols][];
+        strCols = new String[numCols][];
+        for (int i = 0; i < numCols; ++i) {
+            types[i] = base.types[colIndex[i]];
+            intCols[i] = base.intCols[colIndex[i]];
+            realCols[i] = base.realCols[colIndex[i]];
+            strCols[i] = base.strCols[colIndex[i]];
+        }
+        numRows = base.numRows;
+        sel = base.sel;
+        selSize = base.selSize;
+        shared = true;
+        base.shared = true;
+    }
+
+    public int getNumCols() {
+        return types.length;
+    }
+
+    public int getType(int col) {
+        return types[col];
+    }
+
+    /** Physical row of the i-th visible row **/
+    public int rowAt(int i) {
+        return sel == null ? i : sel[i];
+    }
+
+    public int getInt(int row, int col) {
+        return intCols[col][row];
+    }
+
+    public float getFloat(int row, int col) {
+        return realCols[col][row];
+    }
+
+    public String getString(int row, int col) {
+        return strCols[col][row];
+    }
+
+    /** Boxed value of a physical row **/
+    public Object valueAt(int row, int col) {
+        if (types[col] == Attribute.INT) {
+            return intCols[col][row];
+        } else if (types[col] == Attribute.REAL) {
+            return realCols[col][row];
+        } else {
+            return strCols[col][row];
+        }
+    }
+
+    /** The column arrays hold physical rows, the selection vector is the list of visible ones **/
+    public int[] getIntColumn(int col) {
+        return intCols[col];
+    }
+
+    public float[] getRealColumn(int col) {
+        return realCols[col];
+    }
+
+    public String[] getStringColumn(int col) {
+        return strCols[col];
+    }
+
+    /** Returns a batch with only the given columns, the column arrays are shared **/
+    public ColumnBatch project(int[] colIndex) {
+        return new ColumnBatch(this, colIndex);
+    }
+
+    /**
+     * Returns a batch with only the visible rows listed in the first n
+     * entries of rows, in increasing order. The column arrays are shared,
+     * the rows are kept in a selection vector instead of being copied.
+     **/
+    public ColumnBatch select(int[] rows, int n) {
+        int[] colIndex = new int[types.length];
+        for (int c = 0; c < colIndex.length; ++c) {
+            colIndex[c] = c;
+        }
+        ColumnBatch selected = new ColumnBatch(this, colIndex);
+        selected.sel = new int[n];
+        for (int i = 0; i < n; ++i) {
+            selected.sel[i] = rowAt(rows[i]);
+        }
+        selected.selSize = n;
+        return selected;
+    }
+
+    /** Copies the column arrays shared with another batch, so that they can be changed **/
+    private void own() {
+        if (!shared) return;
+        for (int c = 0; c < types.length; ++c) {
+            if (intCols[c] != null) {
+                intCols[c] = intCols[c].clone();
+            } else if (realCols[c] != null) {
+                realCols[c] = realCols[c].clone();
+            } else {
+                strCols[c] = strCols[c].clone();
+            }
+        }
+        shared = false;
+    }
+
+    /** Copies the selected rows to the front of the columns and drops the selection vector **/
+    private void compact() {
+        own();
+        if (sel == null) return;
+        for (int i = 0; i < selSize; ++i) {
+            copyRow(this, sel[i], i);
+        }
+        numRows = selSize;
+        sel = null;
+    }
+
+    private void copyRow(ColumnBatch src, int srcRow, int dstRow) {
+        for (int c = 0; c < types.length; ++c) {
+            if (types[c] == Attribute.INT) {
+                intCols[c][dstRow] = src.intCols[c][srcRow];
+            } else if (types[c] == Attribute.REAL) {
+                realCols[c][dstRow] = src.realCols[c][srcRow];
+            } else {
+                strCols[c][dstRow] = src.strCols[c][srcRow];
+            }
+        }
+    }
+
+    /** Copies the values of a tuple into row, starting at column start **/
+    private void setValues(int row, int start, Tuple t) {
+        if (t instanceof Row && ((Row) t).batch().types.length + start <= types.length) {
+            ColumnBatch src = ((Row) t).batch();
+            int srcRow = ((Row) t).row;
+            for (int c = 0; c < src.types.length; ++c) {
+                if (types[start + c] == Attribute.INT) {
+                    intCols[start + c][row] = src.intCols[c][srcRow];
+                } else if (types[start + c] == Attribute.REAL) {
+                    realCols[start + c][row] = src.realCols[c][srcRow];
+                } else {
+                    strCols[start + c][row] = src.strCols[c][srcRow];
+                }
+            }
+            return;
+        }
+        int n = t.data().size();
+        for (int c = 0; c < n; ++c) {
+            Object data = t.dataAt(c);
+            if (types[start + c] == Attribute.INT) {
+                intCols[start + c][row] = (Integer) data;
+            } else if (types[start + c] == Attribute.REAL) {
+                realCols[start + c][row] = (Float) data;
+            } else {
+                strCols[start + c][row] = (String) data;
+            }
+        }
+    }
+
+    /** Appends the visible row i of a batch with the same schema **/
+    public void addRow(ColumnBatch src, int i) {
+        compact();
+        copyRow(src, src.rowAt(i), numRows);
+        numRows++;
+    }
+
+    /** Appends a record of a binary table page **/
+    public void addRecord(PageLayout layout, ByteBuffer page, int recOffset) {
+        compact();
+        for (int c = 0; c < types.length; ++c) {
+            if (types[c] == Attribute.INT) {
+                intCols[c][numRows] = layout.readInt(page, recOffset, c);
+            } else if (types[c] == Attribute.REAL) {
+                realCols[c][numRows] = layout.readFloat(page, recOffset, c);
+            } else {
+                strCols[c][numRows] = layout.readString(page, recOffset, c);
+            }
+        }
+        numRows++;
+    }
+
+    @Override
+    public void add(Tuple t) {
+        compact();
+        setValues(numRows, 0, t);
+        numRows++;
+    }
+
+    @Override
+    public void addJoined(Tuple left, Tuple right) {
+        compact();
+        int leftCols = left instanceof Row ? ((Row) left).batch().types.length : left.data().size();
+        setValues(numRows, 0, left);
+        setValues(numRows, leftCols, right);
+        numRows++;
+    }
+
+    @Override
+    public void clear() {
+        numRows = 0;
+        sel = null;
+    }
+
+    @Override
+    public boolean contains(Tuple t) {
+        return indexOf(t) >= 0;
+    }
+
+    @Override
+    public Tuple get(int i) {
+        return new Row(rowAt(i));
+    }
+
+    @Override
+    public ArrayList<Tuple> getAll() {
+        ArrayList<Tuple> rows = new ArrayList<>(size());
+        for (int i = 0; i < size(); ++i) {
+            rows.add(get(i));
+        }
+        return rows;
+    }
+
+    @Override
+    public int indexOf(Tuple t) {
+        for (int i = 0; i < size(); ++i) {
+            if (get(i).data().equals(t.data())) return i;
+        }
+        return -1;
+    }
+
+    @Override
+    public void add(Tuple t, int i) {
+        compact();
+        for (int r = numRows; r > i; --r) {
+            copyRow(this, r - 1, r);
+        }
+        setValues(i, 0, t);
+        numRows++;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public void remove(int i) {
+        /** dropping the last visible row only shortens the selection **/
+        if (sel != null && i == selSize - 1) {
+            selSize--;
+            return;
+        }
+        compact();
+        for (int r = i; r < numRows - 1; ++r) {
+            copyRow(this, r + 1, r);
+        }
+        numRows--;
+    }
+
+    @Override
+    public void set(Tuple t, int i) {
+        own();
+        setValues(rowAt(i), 0, t);
+    }
+
+    @Override
+    public int size() {
+        return sel == null ? numRows : selSize;
+    }
+
+    /**
+     * Row view of a ColumnBatch, values are boxed only when accessed
+     */
+    public class Row extends Tuple {
+
+        private static final long serialVersionUID = 1L;
+
+        final int row;  // Physical row in the batch
+
+        Row(int row) {
+            super(null);
+            this.row = row;
+        }
+
+        ColumnBatch batch() {
+            return ColumnBatch.this;
+        }
+
+        public int getRow() {
+            return row;
+        }
+
+        @Override
+        public ArrayList<Object> data() {
+            if (_data == null) {
+                ArrayList<Object> values = new ArrayList<>(types.length);
+                for (int c = 0; c < types.length; ++c) {
+                    values.add(valueAt(row, c));
+                }
+                _data = values;
+            }
+            return _data;
+        }
+
+        @Override
+        public Object dataAt(int index) {
+            return valueAt(row, index);
+        }
+
+        /** A plain tuple is written instead of the whole batch **/
+        private Object writeReplace() throws ObjectStreamException {
+            return new Tuple(data());
+        }
+    }
+}
@@ -0,0 +1,396 @@
+/**
+ * Distribution of the values of a column
+ **/
+
+package qp.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.StringTokenizer;
+
+/**
+ * Histogram - equi-depth histogram of the values of a column. The values are
+ * split into buckets of about the same number of tuples, bucket i holds the
+ * values above bounds[i] up to bounds[i + 1], the first one also the minimum
+ * bounds[0]. A value repeated over several buckets makes buckets of width
+ * zero, which hold that value only. Numeric values are taken to be spread
+ * uniformly within a bucket. The most common values are kept apart with their
+ * frequencies, the other values are taken to be equally frequent.
+ * The weights are the fractions of the tuples in the buckets. They are equal
+ * when the histogram is read from a .stat file, where it takes one line: the
+ * number of buckets, the minimum and the upper bound of every bucket, then
+ * optionally the number of common values and each one with its frequency,
+ * separated by tabs. A histogram restricted to the tuples satisfying a
+ * condition keeps the parts of the buckets that satisfy it.
+ */
+public class Histogram {
+
+    public static final int NUMBUCKETS = 20;  // Number of buckets of the histograms built
+    public static final int NUMCOMMON = 10;   // Most common values kept at most
+
+    private final int type;              // Type of the column, see Attribute
+    private final Object[] bounds;       // Minimum and upper bound of each bucket
+    private final double[] weights;      // Fraction of the tuples in each bucket
+    private final Object[] common;       // Most common values
+    private final double[] frequencies;  // Fraction of the tuples with each common value
+
+    Histogram(int type, Object[] bounds, double[] weights) {
+        this(type, bounds, weights, new Object[0], new double[0]);
+    }
+
+    Histogram(int type, Object[] bounds, double[] weights, Object[] common, double[] frequencies) {
+        this.type = type;
+        this.bounds = bounds;
+        this.weights = weights;
+        this.common = common;
+        this.frequencies = frequencies;
+    }
+
+    /**
+     * Equi-depth histogram of the values, null if there is none
+     **/
+    public static Histogram build(ArrayList<Object> values, int type) {
+        int numtuples = values.size();
+        if (numtuples == 0) {
+            return null;
+        }
+        ArrayList<Object> sorted = new ArrayList<>(values);
+        sorted.sort((v1, v2) -> compare(v1, v2, type));
+        int numbuckets = Math.min(NUMBUCKETS, numtuples);
+        Object[] bounds = new Object[numbuckets + 1];
+        double[] weights = new double[numbuckets];
+        bounds[0] = sorted.get(0);
+        for (int i = 1; i <= numbuckets; i++) {
+            int end = (int) Math.ceil((double) i * numtuples / numbuckets);
+            bounds[i] = sorted.get(end - 1);
+            weights[i - 1] = 1.0 / numbuckets;
+        }
+
+        /** the values repeated more often than the average value are common **/
+        ArrayList<Object> repeated = new ArrayList<>();
+        ArrayList<Integer> counts = new ArrayList<>();
+        int numdistinct = 0;
+        int start = 0;
+        while (start < numtuples) {
+            int end = start + 1;
+            while (end < numtuples && compare(sorted.get(start), sorted.get(end), type) == 0) {
+                end++;
+            }
+            numdistinct++;
+            if (end - start > 1) {
+                repeated.add(sorted.get(start));
+                counts.add(end - start);
+            }
+            start = end;
+        }
+        Integer[] order = new Integer[repeated.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (i1, i2) -> Integer.compare(counts.get(i2), counts.get(i1)));
+        ArrayList<Object> common = new ArrayList<>();
+        ArrayList<Double> frequencies = new ArrayList<>();
+        for (int i = 0; i < order.length && common.size() < NUMCOMMON; i++) {
+            int count = counts.get(order[i]);
+            if ((double) count * numdistinct <= numtuples) {
+                break;
+            }
+            common.add(repeated.get(order[i]));
+            frequencies.add((double) count / numtuples);
+        }
+        return new Histogram(type, bounds, weights, common.toArray(), toArray(frequencies));
+    }
+
+    private static double[] toArray(ArrayList<Double> list) {
+        double[] array = new double[list.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = list.get(i);
+        }
+        return array;
+    }
+
+    /**
+     * Reads a histogram written by toString(), null if it has no bucket
+     **/
+    public static Histogram parse(String line, int type) {
+        StringTokenizer tokenizer = new StringTokenizer(line, "\t");
+        int numbuckets = Integer.parseInt(tokenizer.nextToken());
+        if (numbuckets == 0) {
+            return null;
+        }
+        Object[] bounds = new Object[numbuckets + 1];
+        double[] weights = new double[numbuckets];
+        for (int i = 0; i <= numbuckets; i++) {
+            bounds[i] = valueOf(tokenizer.nextToken(), type);
+        }
+        for (int i = 0; i < numbuckets; i++) {
+            weights[i] = 1.0 / numbuckets;
+        }
+        /** histograms without common values end here **/
+        int numcommon = tokenizer.hasMoreTokens() ? Integer.parseInt(tokenizer.nextToken()) : 0;
+        Object[] common = new Object[numcommon];
+        double[] frequencies = new double[numcommon];
+        for (int i = 0; i < numcommon; i++) {
+            common[i] = valueOf(tokenizer.nextToken(), type);
+            frequencies[i] = Double.parseDouble(tokenizer.nextToken());
+        }
+        return new Histogram(type, bounds, weights, common, frequencies);
+    }
+
+    /**
+     * Writes an equi-depth histogram for the .stat file
+     **/
+    @Override
+    public String toString() {
+        StringBuilder line = new StringBuilder();
+        line.append(weights.length);
+        for (Object bound : bounds) {
+            line.append('\t').append(bound);
+        }
+        if (common.length > 0) {
+            line.append('\t').append(common.length);
+            for (int i = 0; i < common.length; i++) {
+                line.append('\t').append(common[i]).append('\t').append(frequencies[i]);
+            }
+        }
+        return line.toString();
+    }
+
+    /**
+     * Value of a constant of a condition on a column of the given type
+     *
+     * @throws NumberFormatException if the constant is not a number of a numeric column
+     **/
+    public static Object valueOf(String value, int type) {
+        if (type == Attribute.INT) {
+            return Integer.parseInt(value);
+        } else if (type == Attribute.REAL) {
+            return Float.parseFloat(value);
+        }
+        return value;
+    }
+
+    public int getType() {
+        return type;
+    }
+
+    public Object getMin() {
+        return bounds[0];
+    }
+
+    public Object getMax() {
+        return bounds[bounds.length - 1];
+    }
+
+    private static int compare(Object v1, Object v2, int type) {
+        if (type == Attribute.STRING) {
+            return ((String) v1).compareTo((String) v2);
+        }
+        return Double.compare(((Number) v1).doubleValue(), ((Number) v2).doubleValue());
+    }
+
+    private int compare(Object v1, Object v2) {
+        return compare(v1, v2, type);
+    }
+
+    /**
+     * Fraction of bucket i below the value, for a value within the bucket.
+     * * Strings are not interpolated, half of the bucket is taken
+     **/
+    private double position(int i, Object value) {
+        if (type == Attribute.STRING) {
+            return 0.5;
+        }
+        double low = ((Number) bounds[i]).doubleValue();
+        double high = ((Number) bounds[i + 1]).doubleValue();
+        return (((Number) value).doubleValue() - low) / (high - low);
+    }
+
+    /**
+     * Fraction of the tuples below the value, or up to it if inclusive
+     **/
+    public double fractionBelow(Object value, boolean inclusive) {
+        double fraction = 0;
+        for (int i = 0; i < weights.length; i++) {
+            int high = compare(bounds[i + 1], value);
+            if (high < 0 || (inclusive && high == 0)) {
+                fraction += weights[i];
+            } else if (compare(bounds[i], value) < 0) {
+                fraction += weights[i] * position(i, value);
+            }
+        }
+        return fraction;
+    }
+
+    /**
+     * Fraction of the tuples equal to the value. A common value has its
+     * * frequency, a value with buckets of its own is as frequent as they
+     * * are, otherwise the distinct values are taken to be spread over the
+     * * buckets like the tuples, and not more frequent than the values
+     * * that are not common on average
+     *
+     * @param numdistinct number of distinct values of the column
+     **/
+    public double fractionEqual(Object value, int numdistinct) {
+        if (compare(value, getMin()) < 0 || compare(value, getMax()) > 0) {
+            return 0;
+        }
+        double rest = 1;
+        for (int i = 0; i < common.length; i++) {
+            if (compare(common[i], value) == 0) {
+                return frequencies[i];
+            }
+            rest -= frequencies[i];
+        }
+        double fraction = fractionBelow(value, true) - fractionBelow(value, false);
+        for (int i = 0; i < weights.length; i++) {
+            boolean within = compare(bounds[i], value) < 0 || (i == 0 && compare(bounds[i], value) == 0);
+            if (within && compare(value, bounds[i + 1]) <= 0 && compare(bounds[i], bounds[i + 1]) < 0) {
+                double distinct = Math.max(1, numdistinct * weights[i]);
+                if (type == Attribute.INT) {
+                    distinct = Math.min(distinct, ((Number) bounds[i + 1]).doubleValue() - ((Number) bounds[i]).doubleValue() + 1);
+                }
+                double uniform = weights[i] / distinct;
+                if (common.length > 0) {
+                    uniform = Math.min(uniform, Math.max(0, rest) / Math.max(1, numdistinct - common.length));
+                }
+                fraction += uniform;
+                break;
+            }
+        }
+        return Math.min(1, fraction);
+    }
+
+    /**
+     * Fraction of the tuples satisfying a comparison with the value
+     *
+     * @param exprtype    comparison, see Condition
+     * @param numdistinct number of distinct values of the column
+     **/
+    public double selectivity(int exprtype, Object value, int numdistinct) {
+        switch (exprtype) {
+            case Condition.LESSTHAN:
+                return fractionBelow(value, false);
+            case Condition.LTOE:
+                return fractionBelow(value, true);
+            case Condition.GREATERTHAN:
+                return 1 - fractionBelow(value, true);
+            case Condition.GTOE:
+                return 1 - fractionBelow(value, false);
+            case Condition.EQUAL:
+                return fractionEqual(value, numdistinct);
+            default:
+                return 1 - fractionEqual(value, numdistinct);
+        }
+    }
+
+    /**
+     * Histogram of the tuples satisfying a comparison with the value,
+     * * null if none does. A NOTEQUAL leaves the histogram as it is
+     **/
+    public Histogram restrict(int exprtype, Object value) {
+        switch (exprtype) {
+            case Condition.LESSTHAN:
+            case Condition.LTOE:
+                return restrict(getMin(), value, true, exprtype == Condition.LTOE);
+            case Condition.GREATERTHAN:
+            case Condition.GTOE:
+                return restrict(value, getMax(), exprtype == Condition.GTOE, true);
+            case Condition.EQUAL:
+                if (fractionEqual(value, 1) == 0) {
+                    return null;
+                }
+                return new Histogram(type, new Object[]{value, value}, new double[]{1});
+            default:
+                return this;
+        }
+    }
+
+    /**
+     * Histogram of the tuples with values from low to high, null if there is none
+     **/
+    public Histogram restrict(Object low, Object high) {
+        return restrict(low, high, true, true);
+    }
+
+    private Histogram restrict(Object low, Object high, boolean withLow, boolean withHigh) {
+        ArrayList<Object> newbounds = new ArrayList<>();
+        ArrayList<Double> newweights = new ArrayList<>();
+        double total = 0;
+        for (int i = 0; i < weights.length; i++) {
+            Object from = bounds[i];
+            Object to = bounds[i + 1];
+            double kept = weights[i];
+            /** the part of the bucket above low **/
+            int cmp = compare(to, low);
+            if (cmp < 0 || (cmp == 0 && !withLow)) {
+                continue;
+            }
+            if (compare(from, low) < 0) {
+                kept -= weights[i] * position(i, low);
+                from = low;
+            }
+            /** and the part up to high **/
+            cmp = compare(from, high);
+            if (cmp > 0 || (cmp == 0 && !withHigh && compare(from, to) == 0)) {
+                break;
+            }
+            if (compare(to, high) > 0 || (!withHigh && compare(to, high) == 0)) {
+                kept -= weights[i] * (1 - position(i, high));
+                to = high;
+            }
+            if (kept <= 0) {
+                continue;
+            }
+            if (newbounds.isEmpty()) {
+                newbounds.add(from);
+            }
+            newbounds.add(to);
+            newweights.add(kept);
+            total += kept;
+        }
+        if (total <= 0) {
+            return null;
+        }
+        double[] normalized = new double[newweights.size()];
+        for (int i = 0; i < normalized.length; i++) {
+            normalized[i] = newweights.get(i) / total;
+        }
+        /** the common values in the range keep their share of the tuples left **/
+        ArrayList<Object> newcommon = new ArrayList<>();
+        ArrayList<Double> newfrequencies = new ArrayList<>();
+        for (int i = 0; i < common.length; i++) {
+            int above = compare(common[i], low);
+            int below = compare(common[i], high);
+            if ((above > 0 || (above == 0 && withLow)) && (below < 0 || (below == 0 && withHigh))) {
+                newcommon.add(common[i]);
+                newfrequencies.add(Math.min(1, frequencies[i] / total));
+            }
+        }
+        return new Histogram(type, newbounds.toArray(), normalized, newcommon.toArray(), toArray(newfrequencies));
+    }
+
+    /**
+     * Fraction of the tuples with values from low to high
+     **/
+    public double fractionWithin(Object low, Object high) {
+        if (compare(low, high) > 0) {
+            return 0;
+        }
+        return fractionBelow(high, true) - fractionBelow(low, false);
+    }
+
+    /**
+     * The values common to the ranges of both histograms, {low, high},
+     * * null if the ranges do not overlap
+     **/
+    public Object[] overlap(Histogram other) {
+        Object low = compare(getMin(), other.getMin()) >= 0 ? getMin() : other.getMin();
+        Object high = compare(getMax(), other.getMax()) <= 0 ? getMax() : other.getMax();
+        if (compare(low, high) > 0) {
+            return null;
+        }
+        return new Object[]{low, high};
+    }
+
+}
@@ -0,0 +1,110 @@
+/**
+ * Tournament tree for k-way merging
+ **/
+
+package qp.utils;
+
+/**
+ * LoserTree - selects the smallest of the current tuples of k sorted inputs.
+ * Every internal node keeps the input that lost the match played there and
+ * node 0 keeps the overall winner. When the winner is replaced by the next
+ * tuple of its input only the matches on the path from its leaf to the root
+ * are replayed, about log2(k) comparisons, and nothing is allocated.
+ * On equal tuples the input with the lower number wins, so a merge of runs
+ * numbered in input order is stable.
+ */
+public class LoserTree {
+
+    private final int k;           // Number of inputs
+    private final int[] tree;      // tree[0] is the winner, tree[1 .. k - 1] the losers
+    private final Tuple[] tuples;  // Current tuple of each input, null once the input is exhausted
+    private final long[] keys;     // Normalized key of the current tuple of each input
+    private final SortKey sortKey;
+
+    public LoserTree(int k, SortKey sortKey) {
+        this.k = k;
+        this.sortKey = sortKey;
+        tree = new int[k];
+        tuples = new Tuple[k];
+        keys = new long[k];
+    }
+
+    /**
+     * Sets the first tuple of an input (null if it is empty), all inputs
+     * have to be set before build() is called
+     **/
+    public void set(int input, Tuple tuple, long key) {
+        tuples[input] = tuple;
+        keys[input] = key;
+    }
+
+    /**
+     * Plays the initial tournament. Every node starts with a virtual input k
+     * that beats everything and is pushed out as the inputs are added.
+     **/
+    public void build() {
+        for (int i = 0; i < k; i++) {
+            tree[i] = k;
+        }
+        for (int i = k - 1; i >= 0; i--) {
+            replay(i);
+        }
+    }
+
+    /**
+     * Input of the smallest current tuple, -1 if all the inputs are exhausted
+     **/
+    public int winner() {
+        return tuples[tree[0]] == null ? -1 : tree[0];
+    }
+
+    public Tuple winnerTuple() {
+        return tuples[tree[0]];
+    }
+
+    /**
+     * Replaces the tuple of the winning input by its next one, null if the input is exhausted
+     **/
+    public void replaceWinner(Tuple tuple, long key) {
+        int input = tree[0];
+        tuples[input] = tuple;
+        keys[input] = key;
+        replay(input);
+    }
+
+    /**
+     * Replays the matches from the leaf of the input up to the root
+     **/
+    private void replay(int input) {
+        int winner = input;
+        for (int node = (input + k) / 2; node > 0; node /= 2) {
+            if (beats(tree[node], winner)) {
+                int loser = winner;
+                winner = tree[node];
+                tree[node] = loser;
+            }
+        }
+        tree[0] = winner;
+    }
+
+    /**
+     * Whether input a wins against input b. An exhausted input loses against
+     * everything, the virtual input k wins against everything
+     **/
+    private boolean beats(int a, int b) {
+        if (a == k) {
+            return true;
+        }
+        if (b == k) {
+            return false;
+        }
+        if (tuples[a] == null) {
+            return false;
+        }
+        if (tuples[b] == null) {
+            return true;
+        }
+        int result = sortKey.compare(keys[a], tuples[a], keys[b], tuples[b]);
+        return result < 0 || (result == 0 && a < b);
+    }
+}
@@ -0,0 +1,59 @@
+/**
+ * Tuple view over a record of a memory-mapped table page
+ **/
+
+package qp.utils;
+
+import java.io.ObjectStreamException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+
+/**
+ * MappedTuple - decodes the columns of its record lazily from the mapped page
+ * instead of holding an ArrayList of boxed values. The values are only
+ * materialized when the whole data list is requested, e.g., to join or to
+ * write the tuple to a temporary file. Scan only returns such views when
+ * columnar pages are disabled, a ColumnBatch decodes its records eagerly.
+ */
+public class MappedTuple extends Tuple {
+
+    private static final long serialVersionUID = 1L;
+
+    transient ByteBuffer page;      // Mapped page containing the record
+    transient PageLayout layout;    // Layout of the record
+    final int recOffset;            // Offset of the record inside the page
+
+    public MappedTuple(ByteBuffer page, PageLayout layout, int recOffset) {
+        super(null);
+        this.page = page;
+        this.layout = layout;
+        this.recOffset = recOffset;
+    }
+
+    @Override
+    public ArrayList<Object> data() {
+        if (_data == null) {
+            ArrayList<Object> values = new ArrayList<>(layout.getNumCols());
+            for (int i = 0; i < layout.getNumCols(); ++i) {
+                values.add(layout.readValue(page, recOffset, i));
+            }
+            _data = values;
+        }
+        return _data;
+    }
+
+    @Override
+    public Object dataAt(int index) {
+        if (_data != null) {
+            return _data.get(index);
+        }
+        return layout.readValue(page, recOffset, index);
+    }
+
+    /**
+     * The mapped page cannot be serialized, a plain tuple is written instead
+     **/
+    private Object writeReplace() throws ObjectStreamException {
+        return new Tuple(data());
+    }
+}
@@ -0,0 +1,63 @@
+/**
+ * Buffers held by the operators while the plan runs
+ **/
+
+package qp.utils;
+
+/**
+ * MemoryBroker - keeps count of the buffers held by the open operators.
+ * An operator takes the buffers the optimizer granted it when it is opened
+ * and gives them back when it is closed. The buffers nobody holds can be
+ * borrowed by an operator whose input turns out larger than estimated, and
+ * an operator whose input turns out smaller gives back the ones it does
+ * not need, for the operators still working or opened later.
+ * The operators of a plan may run on several threads (see Exchange).
+ */
+public class MemoryBroker {
+
+    private static int numBuffer = 0;  // Number of buffers of the plan
+    private static int numHeld = 0;    // Number of buffers held by the operators
+
+    /**
+     * Sets the number of buffers, none is held yet
+     **/
+    public static synchronized void setNumBuffer(int num) {
+        numBuffer = num;
+        numHeld = 0;
+    }
+
+    public static synchronized int getNumBuffer() {
+        return numBuffer;
+    }
+
+    /**
+     * Number of buffers nobody holds
+     **/
+    public static synchronized int getNumFree() {
+        return Math.max(0, numBuffer - numHeld);
+    }
+
+    /**
+     * Takes the buffers granted by the optimizer, they are given even
+     * * if the grants of the operators open together exceed numBuffer
+     **/
+    public static synchronized void take(int num) {
+        numHeld += num;
+    }
+
+    /**
+     * Takes up to the wanted number of buffers out of the free ones
+     *
+     * @return the number of buffers taken
+     **/
+    public static synchronized int borrow(int wanted) {
+        int num = Math.min(wanted, getNumFree());
+        numHeld += num;
+        return num;
+    }
+
+    public static synchronized void release(int num) {
+        numHeld = Math.max(0, numHeld - num);
+    }
+
+}
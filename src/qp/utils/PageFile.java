@@ -0,0 +1,202 @@
+/**
+ * Temporary file of pages that can be read and written by page number
+ **/
+
+package qp.utils;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+
+/**
+ * PageFile - a file of serialized pages (Batch objects). Every page is stored
+ * as its page number, its length and its serialized form, so that any page can
+ * be read without deserializing the ones before it, e.g. through the BufferPool.
+ * A page written again is appended to the file and the later copy is the valid
+ * one. The positions of the pages written through this object are known, the
+ * other ones are found by reading the record headers from the start of the file.
+ */
+public class PageFile implements BufferPool.PageStore {
+
+    public static final int IO_BUFFER_SIZE = 1 << 16;  // Bytes of records buffered before they are written
+    private static final int RECORD_HEADER_SIZE = 8;   // Page number and length of a record
+
+    private final String filename;
+    private final ArrayList<Long> positions = new ArrayList<>();  // Position of the valid copy of each page, -1 if unknown
+    private final ByteArrayOutputStream pending = new ByteArrayOutputStream();  // Records not written to the file yet
+    private FileChannel channel;
+    private long end = 0;       // Size of the file, pending records included
+    private long written = 0;   // Bytes written to the file
+    private long scanned = 0;   // Records before this position are in positions
+
+    public PageFile(String filename) {
+        this.filename = filename;
+    }
+
+    public String getFileName() {
+        return filename;
+    }
+
+    /**
+     * Creates an empty file, the pages left in the pool from a file with
+     * * the same name are dropped
+     **/
+    public boolean create() {
+        BufferPool.getPool().discard(filename);
+        try {
+            channel = FileChannel.open(Paths.get(filename), StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        } catch (IOException io) {
+            System.out.printf("%s:writing the temporary file error%n", filename);
+            return false;
+        }
+        positions.clear();
+        pending.reset();
+        end = 0;
+        written = 0;
+        scanned = 0;
+        return true;
+    }
+
+    /**
+     * Opens an existing file for reading
+     **/
+    public boolean open() {
+        try {
+            channel = FileChannel.open(Paths.get(filename), StandardOpenOption.READ);
+            end = channel.size();
+        } catch (IOException io) {
+            System.out.printf("%s:reading the temporary file error%n", filename);
+            return false;
+        }
+        positions.clear();
+        pending.reset();
+        written = end;
+        scanned = 0;
+        return true;
+    }
+
+    /**
+     * Appends a page after the ones written so far, returns its page number
+     **/
+    public synchronized int append(Object page) throws IOException {
+        findPage(Integer.MAX_VALUE);
+        int pageNum = positions.size();
+        writePage(pageNum, page);
+        return pageNum;
+    }
+
+    @Override
+    public synchronized void writePage(int pageNum, Object page) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ObjectOutputStream out = new ObjectOutputStream(bytes);
+        out.writeObject(page);
+        out.close();
+        ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER_SIZE);
+        header.putInt(pageNum);
+        header.putInt(bytes.size());
+        pending.write(header.array());
+        bytes.writeTo(pending);
+        long position = end;
+        end += RECORD_HEADER_SIZE + bytes.size();
+        /** the new record does not have to be read back to find the page **/
+        if (scanned == position) {
+            scanned = end;
+        }
+        setPosition(pageNum, position);
+        if (pending.size() >= IO_BUFFER_SIZE) {
+            flush();
+        }
+    }
+
+    /**
+     * Writes the buffered records to the file
+     **/
+    private void flush() throws IOException {
+        ByteBuffer records = ByteBuffer.wrap(pending.toByteArray());
+        while (records.hasRemaining()) {
+            written += channel.write(records, written);
+        }
+        pending.reset();
+    }
+
+    @Override
+    public synchronized Object readPage(int pageNum) throws IOException {
+        if (pending.size() > 0) {
+            flush();
+        }
+        long position = findPage(pageNum);
+        if (position < 0) {
+            return null;
+        }
+        ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER_SIZE);
+        readFully(header, position);
+        ByteBuffer record = ByteBuffer.allocate(header.getInt(4));
+        readFully(record, position + RECORD_HEADER_SIZE);
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(record.array()))) {
+            return in.readObject();
+        } catch (ClassNotFoundException c) {
+            throw new IOException("PageFile: Error in deserialising " + filename);
+        }
+    }
+
+    /**
+     * Position of the valid copy of the page, -1 if the file has no such page.
+     * * The record headers not looked at yet are read until the page is found
+     **/
+    private long findPage(int pageNum) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER_SIZE);
+        while ((pageNum >= positions.size() || positions.get(pageNum) < 0) && scanned < end) {
+            header.clear();
+            readFully(header, scanned);
+            setPosition(header.getInt(0), scanned);
+            scanned += RECORD_HEADER_SIZE + header.getInt(4);
+        }
+        if (pageNum >= positions.size()) {
+            return -1;
+        }
+        return positions.get(pageNum);
+    }
+
+    private void setPosition(int pageNum, long position) {
+        while (positions.size() <= pageNum) {
+            positions.add(-1L);
+        }
+        positions.set(pageNum, position);
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException(filename);
+            }
+        }
+        buffer.flip();
+    }
+
+    public synchronized void close() {
+        if (channel == null) {
+            return;
+        }
+        try {
+            if (pending.size() > 0) {
+                flush();
+            }
+            channel.close();
+        } catch (IOException io) {
+            System.out.printf("%s:closing the temporary file error%n", filename);
+        }
+        channel = null;
+    }
+
+    /**
+     * Deletes the file, and drops its pages from the pool
+     **/
+    public static void delete(String filename) {
+        BufferPool.getPool().discard(filename);
+        new File(filename).delete();
+    }
+}
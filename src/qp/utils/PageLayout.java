@@ -0,0 +1,200 @@
+/**
+ * Fixed-width binary layout of a table file (<tablename>.tbl)
+ * The layout is derived entirely from the Schema stored in <tablename>.md:
+ * INT and REAL columns take 4 bytes, a STRING column takes a 2-byte length
+ * followed by getAttrSize() bytes of UTF-16 characters.
+ *
+ * File:  | file header page | data page 0 | data page 1 | ...
+ * Header page: magic, version, page size, record size, number of columns,
+ * number of tuples, number of data pages (rest of the page is unused).
+ * Data page: | number of slots | slot directory (one int offset per slot) | records |
+ **/
+
+package qp.utils;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+
+public class PageLayout {
+
+    public static final int MAGIC = 0x51505442;        // "QPTB"
+    public static final int VERSION = 1;
+    public static final int DEFAULT_PAGE_SIZE = 4096;  // Number of bytes per disk page
+    public static final int FILE_HEADER_SIZE = 28;     // Bytes used in the header page
+    public static final int PAGE_HEADER_SIZE = 4;      // Number of slots used in this page
+    public static final int SLOT_SIZE = 4;             // Offset of a record within the page
+
+    final int pageSize;      // Number of bytes per disk page
+    final int recordSize;    // Number of bytes per record
+    final int tuplesPerPage; // Number of records per disk page
+    final int[] types;       // Attribute type of each column
+    final int[] offsets;     // Offset of each column inside the record
+    final int[] maxChars;    // Maximum number of characters of STRING columns
+
+    public PageLayout(Schema schema) {
+        this(schema, DEFAULT_PAGE_SIZE);
+    }
+
+    public PageLayout(Schema schema, int minPageSize) {
+        int numCols = schema.getNumCols();
+        types = new int[numCols];
+        offsets = new int[numCols];
+        maxChars = new int[numCols];
+        int offset = 0;
+        for (int i = 0; i < numCols; ++i) {
+            Attribute attr = schema.getAttribute(i);
+            types[i] = attr.getType();
+            offsets[i] = offset;
+            if (types[i] == Attribute.STRING) {
+                maxChars[i] = Math.max(1, attr.getAttrSize() / 2);
+                offset += 2 + 2 * maxChars[i];
+            } else {
+                offset += 4;
+            }
+        }
+        recordSize = Math.max(1, offset);
+        /** a page holds at least one record and the file header **/
+        pageSize = Math.max(Math.max(minPageSize, FILE_HEADER_SIZE), PAGE_HEADER_SIZE + SLOT_SIZE + recordSize);
+        tuplesPerPage = (pageSize - PAGE_HEADER_SIZE) / (SLOT_SIZE + recordSize);
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    public int getRecordSize() {
+        return recordSize;
+    }
+
+    public int getTuplesPerPage() {
+        return tuplesPerPage;
+    }
+
+    public int getNumCols() {
+        return types.length;
+    }
+
+    /** Byte position of the given data page within the file **/
+    public long pagePosition(int pageNum) {
+        return (long) (pageNum + 1) * pageSize;
+    }
+
+    /** Number of records stored in the page **/
+    public int numSlots(ByteBuffer page) {
+        return page.getInt(0);
+    }
+
+    /** Offset of the record in the given slot **/
+    public int slotOffset(ByteBuffer page, int slot) {
+        return page.getInt(PAGE_HEADER_SIZE + slot * SLOT_SIZE);
+    }
+
+    /** Prepares an empty page for writing **/
+    public void initPage(ByteBuffer page) {
+        for (int i = 0; i < pageSize; ++i) {
+            page.put(i, (byte) 0);
+        }
+        page.putInt(0, 0);
+    }
+
+    /** Appends the tuple to the page, the page must not be full **/
+    public void appendTuple(ByteBuffer page, Tuple tuple) {
+        int slot = numSlots(page);
+        int recOffset = PAGE_HEADER_SIZE + tuplesPerPage * SLOT_SIZE + slot * recordSize;
+        page.putInt(PAGE_HEADER_SIZE + slot * SLOT_SIZE, recOffset);
+        for (int i = 0; i < types.length; ++i) {
+            int pos = recOffset + offsets[i];
+            Object data = tuple.dataAt(i);
+            if (types[i] == Attribute.INT) {
+                page.putInt(pos, (Integer) data);
+            } else if (types[i] == Attribute.REAL) {
+                page.putFloat(pos, (Float) data);
+            } else {
+                String str = (String) data;
+                if (str.length() > maxChars[i]) {
+                    System.err.println("PageLayout: string value exceeds column width " + str);
+                    System.exit(1);
+                }
+                page.putShort(pos, (short) str.length());
+                for (int c = 0; c < str.length(); ++c) {
+                    page.putChar(pos + 2 + 2 * c, str.charAt(c));
+                }
+            }
+        }
+        page.putInt(0, slot + 1);
+    }
+
+    /** Decodes the tuple stored in the given slot **/
+    public Tuple readTuple(ByteBuffer page, int slot) {
+        int recOffset = slotOffset(page, slot);
+        ArrayList<Object> data = new ArrayList<>(types.length);
+        for (int i = 0; i < types.length; ++i) {
+            data.add(readValue(page, recOffset, i));
+        }
+        return new Tuple(data);
+    }
+
+    /** Returns a view of the tuple in the given slot that decodes columns on access **/
+    public Tuple viewTuple(ByteBuffer page, int slot) {
+        return new MappedTuple(page, this, slotOffset(page, slot));
+    }
+
+    /** Decodes a single column of the record at recOffset **/
+    public Object readValue(ByteBuffer page, int recOffset, int col) {
+        if (types[col] == Attribute.INT) {
+            return readInt(page, recOffset, col);
+        } else if (types[col] == Attribute.REAL) {
+            return readFloat(page, recOffset, col);
+        } else {
+            return readString(page, recOffset, col);
+        }
+    }
+
+    public int readInt(ByteBuffer page, int recOffset, int col) {
+        return page.getInt(recOffset + offsets[col]);
+    }
+
+    public float readFloat(ByteBuffer page, int recOffset, int col) {
+        return page.getFloat(recOffset + offsets[col]);
+    }
+
+    public String readString(ByteBuffer page, int recOffset, int col) {
+        int pos = recOffset + offsets[col];
+        int len = page.getShort(pos);
+        char[] chars = new char[len];
+        for (int c = 0; c < len; ++c) {
+            chars[c] = page.getChar(pos + 2 + 2 * c);
+        }
+        return new String(chars);
+    }
+
+    /** Writes the file header into the (zeroed) header page **/
+    public void writeHeader(ByteBuffer header, int numTuples, int numPages) {
+        header.putInt(0, MAGIC);
+        header.putInt(4, VERSION);
+        header.putInt(8, pageSize);
+        header.putInt(12, recordSize);
+        header.putInt(16, types.length);
+        header.putInt(20, numTuples);
+        header.putInt(24, numPages);
+    }
+
+    /** Checks that a header written for this schema is being read **/
+    public boolean checkHeader(ByteBuffer header) {
+        return header.getInt(0) == MAGIC && header.getInt(4) == VERSION
+                && header.getInt(8) == pageSize && header.getInt(12) == recordSize
+                && header.getInt(16) == types.length;
+    }
+
+    public static int headerNumTuples(ByteBuffer header) {
+        return header.getInt(20);
+    }
+
+    public static int headerNumPages(ByteBuffer header) {
+        return header.getInt(24);
+    }
+
+    public static int headerPageSize(ByteBuffer header) {
+        return header.getInt(8);
+    }
+}
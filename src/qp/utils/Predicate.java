@@ -0,0 +1,269 @@
+/**
+ * Selection condition compiled against a schema
+ **/
+
+package qp.utils;
+
+/**
+ * Predicate - a Condition with the column indices resolved and the constant
+ * parsed once, specialized by attribute type. filter() evaluates a whole page
+ * with the comparison operator chosen outside of the loop over the rows.
+ */
+public abstract class Predicate {
+
+    final int exprtype;  // Comparison type, see Condition
+    final int col;       // Index of the left hand side attribute
+
+    Predicate(int exprtype, int col) {
+        this.exprtype = exprtype;
+        this.col = col;
+    }
+
+    /**
+     * Compiles the condition for tuples of the given schema
+     **/
+    public static Predicate compile(Condition con, Schema schema) {
+        Attribute attr = con.getLhs();
+        int index = schema.indexOf(attr);
+        if (index < 0) {
+            System.out.println("Predicate: attribute " + attr + " not found");
+            System.exit(1);
+        }
+        int datatype = schema.typeOf(index);
+        int exprtype = con.getExprType();
+        if (exprtype < Condition.LESSTHAN || exprtype > Condition.NOTEQUAL) {
+            System.out.println("Predicate: incorrect condition operator " + exprtype);
+            System.exit(1);
+        }
+        Object rhs = con.getRhs();
+        if (rhs instanceof Attribute) {
+            int rindex = schema.indexOf((Attribute) rhs);
+            if (rindex < 0) {
+                System.out.println("Predicate: attribute " + rhs + " not found");
+                System.exit(1);
+            }
+            return new ColumnPredicate(exprtype, index, rindex);
+        } else if (!(rhs instanceof String)) {
+            System.out.println("Predicate: malformed condition, the right hand side is neither an attribute nor a constant");
+            System.exit(1);
+        }
+        String value = (String) rhs;
+        if (datatype == Attribute.INT) {
+            return new IntPredicate(exprtype, index, Integer.parseInt(value));
+        } else if (datatype == Attribute.REAL) {
+            return new RealPredicate(exprtype, index, Float.parseFloat(value));
+        } else {
+            return new StringPredicate(exprtype, index, value);
+        }
+    }
+
+    /**
+     * Whether the tuple satisfies the condition
+     **/
+    public abstract boolean test(Tuple tuple);
+
+    /**
+     * Keeps, among the first num positions (0 .. batch.size() - 1) in passed,
+     * those whose tuples satisfy the condition, compacted to the front of
+     * passed, and returns how many there are. Several predicates can refine
+     * the same list in turn, a tuple dropped by one is not tested again.
+     **/
+    public int filter(Batch batch, int[] passed, int num) {
+        int n = 0;
+        for (int k = 0; k < num; ++k) {
+            if (test(batch.get(passed[k]))) passed[n++] = passed[k];
+        }
+        return n;
+    }
+
+    /** Whether the result of a comparison satisfies the operator **/
+    boolean accept(int cmp) {
+        switch (exprtype) {
+            case Condition.LESSTHAN:
+                return cmp < 0;
+            case Condition.GREATERTHAN:
+                return cmp > 0;
+            case Condition.LTOE:
+                return cmp <= 0;
+            case Condition.GTOE:
+                return cmp >= 0;
+            case Condition.EQUAL:
+                return cmp == 0;
+            default:
+                return cmp != 0;
+        }
+    }
+
+    /**
+     * Whether two REAL values satisfy the operator, with the primitive
+     * float comparisons: NaN satisfies != only and -0.0 equals 0.0
+     **/
+    boolean acceptReal(float v, float w) {
+        switch (exprtype) {
+            case Condition.LESSTHAN:
+                return v < w;
+            case Condition.GREATERTHAN:
+                return v > w;
+            case Condition.LTOE:
+                return v <= w;
+            case Condition.GTOE:
+                return v >= w;
+            case Condition.EQUAL:
+                return v == w;
+            default:
+                return v != w;
+        }
+    }
+
+    /**
+     * INT attribute compared with a constant
+     */
+    static class IntPredicate extends Predicate {
+        final int value;
+
+        IntPredicate(int exprtype, int col, int value) {
+            super(exprtype, col);
+            this.value = value;
+        }
+
+        @Override
+        public boolean test(Tuple tuple) {
+            return accept(Integer.compare((Integer) tuple.dataAt(col), value));
+        }
+
+        @Override
+        public int filter(Batch batch, int[] passed, int num) {
+            if (!(batch instanceof ColumnBatch)) return super.filter(batch, passed, num);
+            ColumnBatch cb = (ColumnBatch) batch;
+            int[] data = cb.getIntColumn(col);
+            int v = value;
+            int n = 0;
+            switch (exprtype) {
+                case Condition.LESSTHAN:
+                    for (int k = 0; k < num; ++k) if (data[cb.rowAt(passed[k])] < v) passed[n++] = passed[k];
+                    break;
+                case Condition.GREATERTHAN:
+                    for (int k = 0; k < num; ++k) if (data[cb.rowAt(passed[k])] > v) passed[n++] = passed[k];
+                    break;
+                case Condition.LTOE:
+                    for (int k = 0; k < num; ++k) if (data[cb.rowAt(passed[k])] <= v) passed[n++] = passed[k];
+                    break;
+                case Condition.GTOE:
+                    for (int k = 0; k < num; ++k) if (data[cb.rowAt(passed[k])] >= v) passed[n++] = passed[k];
+                    break;
+                case Condition.EQUAL:
+                    for (int k = 0; k < num; ++k) if (data[cb.rowAt(passed[k])] == v) passed[n++] = passed[k];
+                    break;
+                default:
+                    for (int k = 0; k < num; ++k) if (data[cb.rowAt(passed[k])] != v) passed[n++] = passed[k];
+                    break;
+            }
+            return n;
+        }
+    }
+
+    /**
+     * REAL attribute compared with a constant
+     */
+    static class RealPredicate extends Predicate {
+        final float value;
+
+        RealPredicate(int exprtype, int col, float value) {
+            super(exprtype, col);
+            this.value = value;
+        }
+
+        @Override
+        public boolean test(Tuple tuple) {
+            return acceptReal((Float) tuple.dataAt(col), value);
+        }
+
+        @Override
+        public int filter(Batch batch, int[] passed, int num) {
+            if (!(batch instanceof ColumnBatch)) return super.filter(batch, passed, num);
+            ColumnBatch cb = (ColumnBatch) batch;
+            float[] data = cb.getRealColumn(col);
+            float v = value;
+            int n = 0;
+            switch (exprtype) {
+                case Condition.LESSTHAN:
+                    for (int k = 0; k < num; ++k) if (data[cb.rowAt(passed[k])] < v) passed[n++] = passed[k];
+                    break;
+                case Condition.GREATERTHAN:
+                    for (int k = 0; k < num; ++k) if (data[cb.rowAt(passed[k])] > v) passed[n++] = passed[k];
+                    break;
+                case Condition.LTOE:
+                    for (int k = 0; k < num; ++k) if (data[cb.rowAt(passed[k])] <= v) passed[n++] = passed[k];
+                    break;
+                case Condition.GTOE:
+                    for (int k = 0; k < num; ++k) if (data[cb.rowAt(passed[k])] >= v) passed[n++] = passed[k];
+                    break;
+                case Condition.EQUAL:
+                    for (int k = 0; k < num; ++k) if (data[cb.rowAt(passed[k])] == v) passed[n++] = passed[k];
+                    break;
+                default:
+                    for (int k = 0; k < num; ++k) if (data[cb.rowAt(passed[k])] != v) passed[n++] = passed[k];
+                    break;
+            }
+            return n;
+        }
+    }
+
+    /**
+     * STRING attribute compared with a constant
+     */
+    static class StringPredicate extends Predicate {
+        final String value;
+
+        StringPredicate(int exprtype, int col, String value) {
+            super(exprtype, col);
+            this.value = value;
+        }
+
+        @Override
+        public boolean test(Tuple tuple) {
+            String v = (String) tuple.dataAt(col);
+            if (exprtype == Condition.EQUAL) return v.equals(value);
+            if (exprtype == Condition.NOTEQUAL) return !v.equals(value);
+            return accept(v.compareTo(value));
+        }
+
+        @Override
+        public int filter(Batch batch, int[] passed, int num) {
+            if (!(batch instanceof ColumnBatch)) return super.filter(batch, passed, num);
+            ColumnBatch cb = (ColumnBatch) batch;
+            String[] data = cb.getStringColumn(col);
+            int n = 0;
+            if (exprtype == Condition.EQUAL) {
+                for (int k = 0; k < num; ++k) if (value.equals(data[cb.rowAt(passed[k])])) passed[n++] = passed[k];
+            } else if (exprtype == Condition.NOTEQUAL) {
+                for (int k = 0; k < num; ++k) if (!value.equals(data[cb.rowAt(passed[k])])) passed[n++] = passed[k];
+            } else {
+                for (int k = 0; k < num; ++k) if (accept(data[cb.rowAt(passed[k])].compareTo(value))) passed[n++] = passed[k];
+            }
+            return n;
+        }
+    }
+
+    /**
+     * Two attributes of the same tuple compared with each other,
+     * REAL attributes as in RealPredicate
+     */
+    static class ColumnPredicate extends Predicate {
+        final int rcol;  // Index of the right hand side attribute
+
+        ColumnPredicate(int exprtype, int col, int rcol) {
+            super(exprtype, col);
+            this.rcol = rcol;
+        }
+
+        @Override
+        public boolean test(Tuple tuple) {
+            Object v = tuple.dataAt(col);
+            if (v instanceof Float) {
+                return acceptReal((Float) v, (Float) tuple.dataAt(rcol));
+            }
+            return accept(Tuple.compareTuples(tuple, tuple, col, rcol));
+        }
+    }
+}
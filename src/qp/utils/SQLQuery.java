@@ -141,6 +141,18 @@ public class SQLQuery {
 
     public ArrayList<Attribute> getOrderByList() { return orderbyList; }
 
+    public boolean isOrderby() {
+        return orderbyList != null && !orderbyList.isEmpty();
+    }
+
+    /** Whether the select list contains an aggregate function **/
+    public boolean isAggregate() {
+        for (Attribute attr : projectList) {
+            if (attr.getAggType() != Attribute.NONE) return true;
+        }
+        return false;
+    }
+
     public int getNumJoin() {
         if (joinList == null)
             return 0;
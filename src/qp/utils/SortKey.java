@@ -0,0 +1,103 @@
+/**
+ * Normalized sort key
+ **/
+
+package qp.utils;
+
+import java.util.ArrayList;
+
+/**
+ * SortKey - packs the leading sort attributes of a tuple into a long that
+ * compares (unsigned) in the same order as the attributes themselves, so that
+ * sorting compares primitive keys instead of boxed values.
+ * INT and REAL attributes take 32 bits each, a STRING fills the rest of the
+ * key with its first characters (16 bits each). When the key does not hold all
+ * the sort attributes completely, tuples with equal keys are compared on the
+ * attributes themselves.
+ */
+public class SortKey {
+
+    private final int[] index;     // Indices of the sort attributes
+    private final int[] type;      // Types of the sort attributes
+    private final int numPacked;   // Number of attributes (partly) held in the key
+    private final int tieBreak;    // First attribute to compare when the keys are equal
+    private final boolean exact;   // Whether equal keys mean equal sort attributes
+
+    public SortKey(Schema schema, ArrayList<Integer> attrsIndex) {
+        index = new int[attrsIndex.size()];
+        type = new int[attrsIndex.size()];
+        int bits = 0;
+        int packed = 0;
+        int complete = 0;
+        for (int i = 0; i < index.length; i++) {
+            index[i] = attrsIndex.get(i);
+            type[i] = schema.typeOf(index[i]);
+        }
+        for (int i = 0; i < index.length && bits < Long.SIZE; i++) {
+            if (type[i] == Attribute.STRING) {
+                packed += 1;
+                break;
+            }
+            if (bits + Integer.SIZE > Long.SIZE) {
+                break;
+            }
+            bits += Integer.SIZE;
+            packed += 1;
+            complete += 1;
+        }
+        numPacked = packed;
+        tieBreak = complete;
+        exact = complete == index.length;
+    }
+
+    /**
+     * Normalized key of the tuple
+     **/
+    public long of(Tuple tuple) {
+        long key = 0;
+        int bits = 0;
+        for (int i = 0; i < numPacked; i++) {
+            Object value = tuple.dataAt(index[i]);
+            if (type[i] == Attribute.STRING) {
+                String s = (String) value;
+                for (int c = 0; bits < Long.SIZE; c++, bits += Character.SIZE) {
+                    key = (key << Character.SIZE) | (c < s.length() ? s.charAt(c) : 0);
+                }
+                return key;
+            }
+            int bits32;
+            if (type[i] == Attribute.INT) {
+                bits32 = (Integer) value ^ Integer.MIN_VALUE;
+            } else {
+                /** negative floats are ordered by the complement of their bits **/
+                bits32 = Float.floatToIntBits((Float) value);
+                bits32 = bits32 < 0 ? ~bits32 : bits32 ^ Integer.MIN_VALUE;
+            }
+            key = (key << Integer.SIZE) | (bits32 & 0xFFFFFFFFL);
+            bits += Integer.SIZE;
+        }
+        return bits == 0 ? key : key << (Long.SIZE - bits);
+    }
+
+    public boolean isExact() {
+        return exact;
+    }
+
+    /**
+     * Compares two tuples given their keys, the attributes are only
+     * looked at when the keys are equal and do not decide the order
+     **/
+    public int compare(long key1, Tuple t1, long key2, Tuple t2) {
+        int result = Long.compareUnsigned(key1, key2);
+        if (result != 0 || exact) {
+            return result;
+        }
+        for (int i = tieBreak; i < index.length; i++) {
+            result = Tuple.compareTuples(t1, t2, index[i]);
+            if (result != 0) {
+                return result;
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,92 @@
+/**
+ * TableWriter writes tuples of a base table into the binary page format described by PageLayout
+ */
+
+package qp.utils;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+public class TableWriter {
+
+    final String filename;      // Filename to write to
+    final PageLayout layout;    // Layout of the records
+
+    ByteBuffer page;            // Page currently being filled
+    int numPages = 0;           // Number of data pages written
+    int numTuples = 0;          // Number of tuples added
+    RandomAccessFile file;
+    FileChannel channel;        // Output file channel
+
+    public TableWriter(String filename, Schema schema) {
+        this.filename = filename;
+        this.layout = new PageLayout(schema);
+    }
+
+    public int getNumTuple() {
+        return numTuples;
+    }
+
+    public int getNumPage() {
+        return numPages;
+    }
+
+    // Opens the file and reserves the header page
+    public boolean open() {
+        try {
+            file = new RandomAccessFile(filename, "rw");
+            file.setLength(0);
+            channel = file.getChannel();
+        } catch (IOException io) {
+            System.out.printf("%s:writing the table file error\n", filename);
+            return false;
+        }
+        page = ByteBuffer.allocate(layout.getPageSize());
+        layout.initPage(page);
+        numPages = 0;
+        numTuples = 0;
+        return true;
+    }
+
+    // Adds a tuple, the page is written as soon as it is full
+    public boolean next(Tuple tuple) {
+        layout.appendTuple(page, tuple);
+        ++numTuples;
+        if (layout.numSlots(page) == layout.getTuplesPerPage()) {
+            writePage();
+        }
+        return true;
+    }
+
+    private void writePage() {
+        try {
+            page.clear();
+            channel.write(page, layout.pagePosition(numPages));
+            ++numPages;
+            layout.initPage(page);
+        } catch (IOException io) {
+            System.out.printf("%s:writing the table file error\n", filename);
+            System.exit(1);
+        }
+    }
+
+    // Flushes the last page and writes the header
+    public boolean close() {
+        if (channel == null) return true;
+        if (layout.numSlots(page) > 0) writePage();
+        try {
+            ByteBuffer header = ByteBuffer.allocate(layout.getPageSize());
+            layout.writeHeader(header, numTuples, numPages);
+            channel.write(header, 0);
+            channel.close();
+            file.close();
+            channel = null;
+        } catch (IOException io) {
+            System.out.printf("%s:writing the table file error\n", filename);
+            return false;
+        }
+        return true;
+    }
+}
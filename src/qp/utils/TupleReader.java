@@ -20,7 +20,9 @@ public class TupleReader {
     int numBatch = 0;                        // Number of batch read
     int numTuple = 0;                        // Number of tuples read
     Tuple peekTuple = null;            // The next tuple of the batch (if peeked)
-    ObjectInputStream in;                // Input file stream
+    PageFile in;                          // Input file, its pages are read through the BufferPool
+    int pageNum = 0;                       // Next page of the file
+    int pinned = -1;                       // Page pinned in the pool, -1 if none
 
     // filename: Filename of the output file to read from
     // batchsize: Number of tuples per batch
@@ -53,12 +55,13 @@ public class TupleReader {
 
     // Opens the input file and initializes the class for reading
     public boolean open() {
-        try {
-            in = new ObjectInputStream(new FileInputStream(filename));
-        } catch (IOException io) {
-            System.out.printf("%s:reading the temporary file error", filename);
+        in = new PageFile(filename);
+        if (!in.open()) {
+            in = null;
             return false;
         }
+        pageNum = 0;
+        pinned = -1;
         inBatch = null;
         numBatch = 0;
         numTuple = 0;
@@ -77,24 +80,20 @@ public class TupleReader {
 
         // If the next tuple is in the next batch, we have to read from the file
         if (inBatch == null) {
-            try {
-                while (true) {
-                    inBatch = (Batch) in.readObject();
-                    numBatch++;
-                    if (inBatch.size() > 0) break;
+            while (true) {
+                unpin();
+                inBatch = (Batch) BufferPool.getPool().pin(filename, pageNum, in);
+                if (inBatch == null) {
+                    // No more batch in the file
+                    peekTuple = null;
+                    completed = true;
+                    this.close();
+                    return null;
                 }
-            } catch (EOFException e) {
-                // No more batch in the file
-                peekTuple = null;
-                completed = true;
-                this.close();
-                return null;
-            } catch (ClassNotFoundException c) {
-                System.out.printf("%s:Some error in deserialization\n", filename);
-                System.exit(1);
-            } catch (IOException io) {
-                System.out.printf("%s:temporary file reading error\n", filename);
-                System.exit(1);
+                pinned = pageNum;
+                pageNum++;
+                numBatch++;
+                if (inBatch.size() > 0) break;
             }
         }
 
@@ -107,6 +106,7 @@ public class TupleReader {
         if (readCursor >= inBatch.size()) {
             readCursor = 0;
             inBatch = null; // deallocate buffer
+            unpin();
         }
         return peekTuple;
     }
@@ -130,16 +130,19 @@ public class TupleReader {
         inBatch = null;        // deallocate buffer
         peekTuple = null;
         completed = true;
+        unpin();
         if (in != null) {
-            try {
-                in.close();
-                in = null;
-            } catch (IOException io) {
-                System.out.printf("%s:reading the temporary file error", filename);
-                System.out.println(io);
-                return false;
-            }
+            in.close();
+            in = null;
         }
         return true;
     }
+
+    // Releases the page pinned in the buffer pool, if any
+    private void unpin() {
+        if (pinned >= 0) {
+            BufferPool.getPool().unpin(filename, pinned, false);
+            pinned = -1;
+        }
+    }
 }
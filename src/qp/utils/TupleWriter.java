@@ -17,7 +17,7 @@ public class TupleWriter {
     Batch outBatch;
     int numBatch = 0;                        // Number of batch written
     int numTuple = 0;                        // Number of tuples added
-    ObjectOutputStream out;            // Output file stream
+    PageFile out;                          // Output file, see PageFile
 
     // filename: Filename of the output file to write to
     // batchsize: Number of tuples per batch
@@ -44,10 +44,9 @@ public class TupleWriter {
 
     // Opens the file and initializes the class for writing
     public boolean open() {
-        try {
-            out = new ObjectOutputStream(new FileOutputStream(filename));
-        } catch (IOException io) {
-            System.out.printf("%s:writing the temporary file error", filename);
+        out = new PageFile(filename);
+        if (!out.create()) {
+            out = null;
             return false;
         }
         outBatch = null;
@@ -72,7 +71,7 @@ public class TupleWriter {
     // Helper method to write a single batch to the output file
     private void writeBatch() {
         try {
-            out.writeObject(outBatch);
+            out.append(outBatch);
             outBatch = null;        // deallocate output buffer --> saves memory
             ++numBatch;
         } catch (IOException io) {
@@ -86,14 +85,8 @@ public class TupleWriter {
     public boolean close() {
         if (outBatch != null) writeBatch();  // Unfilled batch (if any) will be flushed to the file
         if (out != null) {
-            try {
-                out.close();
-                out = null;
-            } catch (IOException io) {
-                System.out.printf("%s:writing the temporary file error", filename);
-                System.out.println(io);
-                System.exit(1);
-            }
+            out.close();
+            out = null;
         }
         return true;
     }